@@ -0,0 +1,49 @@
+package benchmarks;
+
+/**
+ * File: BenchmarkRunner.java
+ */
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result comes with the
+ * bytes allocated per operation and the allocation rate next to its time.
+ * The arguments are the usual JMH ones, e.g. a pattern to run only some of
+ * the benchmarks, -p board=gen-32, or -rf json -rff result.json to keep the
+ * results for a later comparison.
+ *
+ * Build from the top directory and run from the benchmarks directory:
+ *     mvn package
+ *     cd benchmarks
+ *     java -jar target/benchmarks.jar
+ * or from elsewhere with -Dlasers.tests=path/to/tests passed to the forks
+ * through -jvmArgsAppend.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() ||
+                commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            // nothing is run, JMH itself answers
+            Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,128 @@
+package benchmarks;
+
+/**
+ * File: Boards.java
+ */
+
+import backtracking.Backtracker;
+import backtracking.CellOrder;
+import backtracking.Configuration;
+import backtracking.PropagatingSafeConfig;
+import backtracking.SafeConfig;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import model.Safe;
+
+/**
+ * The safes the benchmarks run on. A board is named either after a file in
+ * the tests directory, e.g. 14x14safe.txt, or as gen-N for a generated N by N
+ * safe. The tests directory is taken from the lasers.tests system property
+ * and defaults to ../tests, where it is when the benchmarks are run from
+ * their own directory.
+ *
+ * Generated safes are the same on every run. Their pillars are spread at
+ * random, lasers are placed greedily until every empty cell is lit, and the
+ * pillars get the number of lasers around them or, now and then, an X. The
+ * lasers are then taken away again, so the safe always has a solution.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+final class Boards {
+
+    /** Seed of every generated safe, so runs can be compared */
+    private static final long SEED = 20160501L;
+    /** Share of the cells that are pillars in a generated safe */
+    private static final double PILLARS = 0.2;
+    /** Share of the pillars that show their number in a generated safe */
+    private static final double NUMBERED = 0.7;
+
+    private Boards() {
+    }
+
+    /**
+     * @param board the name of a file in the tests directory, or gen-N
+     * @return a new Safe with the board
+     * @throws FileNotFoundException if there is no such file
+     */
+    static Safe load(String board) throws FileNotFoundException {
+        if (board.startsWith("gen-")) {
+            return generate(Integer.parseInt(board.substring("gen-".length())), SEED);
+        }
+        return new Safe(new File(System.getProperty("lasers.tests", "../tests"), board));
+    }
+
+    /**
+     * @param board the name of a file in the tests directory, or gen-N
+     * @return a new Safe with the solution of the board
+     * @throws FileNotFoundException if there is no such file
+     */
+    static Safe solved(String board) throws FileNotFoundException {
+        Optional<Configuration> solution = new Backtracker(false).solve(new PropagatingSafeConfig(load(board)));
+        if (!solution.isPresent()) {
+            throw new IllegalArgumentException(board + " has no solution");
+        }
+        return ((PropagatingSafeConfig) solution.get()).getSafe();
+    }
+
+    /**
+     * Finds a configuration halfway down the way to the solution, where there
+     * are lasers on the board already and cells left to decide.
+     *
+     * @param board the name of a file in the tests directory, or gen-N
+     * @param order order in which the cells are decided
+     * @return the configuration, its successors were already taken once
+     * @throws FileNotFoundException if there is no such file
+     */
+    static SafeConfig halfway(String board, CellOrder order) throws FileNotFoundException {
+        List<Configuration> path = new Backtracker(false).solveWithPath(new SafeConfig(load(board), order));
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException(board + " has no solution");
+        }
+        return (SafeConfig) path.get(path.size() / 2);
+    }
+
+    /**
+     * Generates a safe that has a solution.
+     *
+     * @param size number of rows and of columns
+     * @param seed seed of the random choices
+     * @return a new Safe with no lasers on it
+     */
+    static Safe generate(int size, long seed) {
+        Random random = new Random(seed);
+        char[][] grid = new char[size][size];
+        List<int[]> cells = new ArrayList<int[]>();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (random.nextDouble() < PILLARS) {
+                    grid[i][j] = Safe.X;
+                } else {
+                    grid[i][j] = Safe.EMPTY;
+                    cells.add(new int[]{i, j});
+                }
+            }
+        }
+        // light every empty cell, trying the cells in a random order
+        Safe safe = new Safe(grid);
+        Collections.shuffle(cells, random);
+        for (int[] cell : cells) {
+            if (safe.getGrid()[cell[0]][cell[1]] == Safe.EMPTY) {
+                safe.Add(cell[0], cell[1]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (grid[i][j] == Safe.X && random.nextDouble() < NUMBERED) {
+                    grid[i][j] = (char) (Safe.ZERO + safe.numberOfLasersNearby(i, j));
+                }
+            }
+        }
+        return new Safe(grid);
+    }
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+/**
+ * File: SafeBenchmark.java
+ */
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+import model.Safe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The operations of Safe a player triggers: adding and removing a laser,
+ * verifying the safe and the copy every solver step makes.
+ *
+ * Add and Remove change the safe, so they get a fresh copy before every
+ * call. The laser they use is the one of the solution closest to the middle
+ * of the board, where its beams are the longest. The copy is left out of the
+ * time, but the GC profiler still counts its bytes: the allocation of add and
+ * remove is theirs minus the one of copy.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeBenchmark {
+
+    /** The board, see Boards */
+    @Param({"14x14safe.txt", "gen-32", "gen-64"})
+    public String board;
+
+    /** The board with no lasers */
+    private Safe empty;
+    /** The board with the laser of the benchmark on it */
+    private Safe withLaser;
+    /** The solved board */
+    private Safe solved;
+    /** Row of the laser of the benchmark */
+    private int row;
+    /** Column of the laser of the benchmark */
+    private int column;
+
+    @Setup(Level.Trial)
+    public void setUpBoard() throws FileNotFoundException {
+        empty = Boards.load(board);
+        solved = Boards.solved(board);
+        int rows = solved.getNumberOfRows();
+        int columns = solved.getNumberOfColumns();
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int distance = Math.abs(2 * i - rows) + Math.abs(2 * j - columns);
+                if (solved.getGrid()[i][j] == Safe.LASER && distance < best) {
+                    best = distance;
+                    row = i;
+                    column = j;
+                }
+            }
+        }
+        withLaser = new Safe(empty);
+        withLaser.Add(row, column);
+    }
+
+    /**
+     * A copy of the board with no lasers, made before every call of add. The
+     * copy is not part of the measured time.
+     */
+    @State(Scope.Thread)
+    public static class EmptyCopy {
+        /** A copy of the board with no lasers */
+        Safe safe;
+
+        @Setup(Level.Invocation)
+        public void copy(SafeBenchmark benchmark) {
+            safe = new Safe(benchmark.empty);
+        }
+    }
+
+    /**
+     * A copy of the board with the laser on it, made before every call of
+     * remove.
+     */
+    @State(Scope.Thread)
+    public static class LaserCopy {
+        /** A copy of the board with the laser of the benchmark on it */
+        Safe safe;
+
+        @Setup(Level.Invocation)
+        public void copy(SafeBenchmark benchmark) {
+            safe = new Safe(benchmark.withLaser);
+        }
+    }
+
+    @Benchmark
+    public Safe add(EmptyCopy copy) {
+        copy.safe.Add(row, column);
+        return copy.safe;
+    }
+
+    @Benchmark
+    public Safe remove(LaserCopy copy) {
+        copy.safe.Remove(row, column);
+        return copy.safe;
+    }
+
+    @Benchmark
+    public String verify() {
+        solved.Verify();
+        return solved.getMessage();
+    }
+
+    @Benchmark
+    public Safe copy() {
+        return new Safe(solved);
+    }
+}
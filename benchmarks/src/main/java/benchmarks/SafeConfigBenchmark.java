@@ -0,0 +1,93 @@
+package benchmarks;
+
+/**
+ * File: SafeConfigBenchmark.java
+ */
+
+import backtracking.CellOrder;
+import backtracking.Configuration;
+import backtracking.SafeConfig;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One step of the search with SafeConfig: making the successors of a
+ * configuration and checking them. Both are measured halfway down the way to
+ * the solution, where the board holds lasers and beams already.
+ *
+ * getSuccessors moves the configuration on to its next cell, so it is given a
+ * fresh copy before every call.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeConfigBenchmark {
+
+    /** The board, see Boards */
+    @Param({"14x14safe.txt", "gen-16"})
+    public String board;
+
+    /** Order in which the cells are decided */
+    @Param({"ROW_MAJOR", "MOST_CONSTRAINED"})
+    public CellOrder order;
+
+    /** A configuration halfway to the solution */
+    private SafeConfig halfway;
+    /** Its successors */
+    private List<Configuration> successors;
+
+    @Setup(Level.Trial)
+    public void setUpConfig() throws FileNotFoundException {
+        halfway = Boards.halfway(board, order);
+        successors = new ArrayList<Configuration>(new SafeConfig(halfway).getSuccessors());
+    }
+
+    /**
+     * A copy of the halfway configuration, made before every call of
+     * getSuccessors. The copy is not part of the measured time.
+     */
+    @State(Scope.Thread)
+    public static class ConfigCopy {
+        /** A copy of the halfway configuration */
+        SafeConfig config;
+
+        @Setup(Level.Invocation)
+        public void copy(SafeConfigBenchmark benchmark) {
+            config = new SafeConfig(benchmark.halfway);
+        }
+    }
+
+    @Benchmark
+    public Collection<Configuration> getSuccessors(ConfigCopy copy) {
+        return copy.config.getSuccessors();
+    }
+
+    @Benchmark
+    public void isValid(Blackhole blackhole) {
+        for (Configuration successor : successors) {
+            blackhole.consume(successor.isValid());
+        }
+    }
+}
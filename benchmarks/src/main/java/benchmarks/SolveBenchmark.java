@@ -0,0 +1,105 @@
+package benchmarks;
+
+/**
+ * File: SolveBenchmark.java
+ */
+
+import backtracking.Backtracker;
+import backtracking.CellOrder;
+import backtracking.Configuration;
+import backtracking.PropagatingSafeConfig;
+import backtracking.SafeConfig;
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import model.Safe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A whole Backtracker.solve, from the safe as it is read to its solution, on
+ * the safes of the tests directory and on generated larger ones. The engines
+ * are the ones SafeSolver offers for Backtracker: plain and mcv (SafeConfig in
+ * either cell order) and propagate (PropagatingSafeConfig).
+ *
+ * Without propagation a generated safe of 24 by 24 already takes over a minute, so
+ * the large generated safes are only solved with propagate, by solveLarge.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+
+    /**
+     * A safe small enough for every engine.
+     */
+    @State(Scope.Thread)
+    public static class Small {
+        /** The board, see Boards */
+        @Param({"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt", "gen-16"})
+        public String board;
+
+        /** The engine, as named by SafeSolver */
+        @Param({"plain", "mcv", "propagate"})
+        public String engine;
+
+        /** The board as it is read */
+        Safe safe;
+
+        @Setup(Level.Trial)
+        public void setUpBoard() throws FileNotFoundException {
+            safe = Boards.load(board);
+        }
+    }
+
+    /**
+     * A generated safe too large for the engines without propagation.
+     */
+    @State(Scope.Thread)
+    public static class Large {
+        /** The board, see Boards */
+        @Param({"gen-32", "gen-48", "gen-64"})
+        public String board;
+
+        /** The board as it is read */
+        Safe safe;
+
+        @Setup(Level.Trial)
+        public void setUpBoard() throws FileNotFoundException {
+            safe = Boards.load(board);
+        }
+    }
+
+    @Benchmark
+    public Optional<Configuration> solve(Small small) {
+        Configuration init;
+        if (small.engine.equals("propagate")) {
+            init = new PropagatingSafeConfig(new Safe(small.safe));
+        } else if (small.engine.equals("mcv")) {
+            init = new SafeConfig(new Safe(small.safe), CellOrder.MOST_CONSTRAINED);
+        } else {
+            init = new SafeConfig(new Safe(small.safe));
+        }
+        return new Backtracker(false).solve(init);
+    }
+
+    @Benchmark
+    public Optional<Configuration> solveLarge(Large large) {
+        return new Backtracker(false).solve(new PropagatingSafeConfig(new Safe(large.safe)));
+    }
+}
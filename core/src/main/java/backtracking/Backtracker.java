@@ -0,0 +1,212 @@
+package backtracking;
+
+/**
+ * File: Backtracker.java
+ */
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class represents the classic backtracking algorithm.
+ * It has a solver that can take a valid configuration and return a
+ * solution, if one exists. The search itself runs in an
+ * IterativeBacktracker, so a deep tree does not overflow the stack.
+ *
+ * This file comes from the backtracking lab. It should be useful
+ * in this project. A second method has been added that you should
+ * implement.
+ *
+ * @author Sean Strout @ RIT CS
+ * @author James Heliotis @ RIT CS
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class Backtracker {
+
+    private boolean debug;
+
+    /** Number of configurations explored since the backtracker was created */
+    private long nodes;
+
+    /** Configurations known to lead nowhere, or null to search every subtree */
+    private DeadEndCache deadEnds;
+
+    /** Counters of every search, or null to keep none */
+    private SearchStats stats;
+
+    /**
+     * Initialize a new backtracker.
+     *
+     * @param debug Is debugging output enabled?
+     */
+    public Backtracker(boolean debug) {
+        this(debug, null);
+    }
+
+    /**
+     * Initialize a new backtracker that skips the subtrees it has already
+     * searched in vain. Only configurations with a state key are cached.
+     *
+     * @param debug Is debugging output enabled?
+     * @param deadEnds where dead ends are recorded, or null to search every subtree
+     */
+    public Backtracker(boolean debug, DeadEndCache deadEnds) {
+        this(debug, deadEnds, null);
+    }
+
+    /**
+     * Initialize a new backtracker that counts what its searches do.
+     *
+     * @param debug Is debugging output enabled?
+     * @param deadEnds where dead ends are recorded, or null to search every subtree
+     * @param stats where every search is counted, or null to keep no counters
+     */
+    public Backtracker(boolean debug, DeadEndCache deadEnds, SearchStats stats) {
+        this.debug = debug;
+        this.deadEnds = deadEnds;
+        this.stats = stats;
+        if (this.debug) {
+            System.out.println("Backtracker debugging enabled...");
+        }
+    }
+
+    /**
+     * Try find a solution, if one exists, for a given configuration.
+     *
+     * @param config A valid configuration
+     * @return A solution config, or empty if no solution
+     */
+    public Optional<Configuration> solve(Configuration config) {
+        IterativeBacktracker search = new IterativeBacktracker(config, debug, deadEnds, stats);
+        IterativeBacktracker.Status status = search.run(Long.MAX_VALUE);
+        nodes += search.getNodesExplored();
+        return status == IterativeBacktracker.Status.FOUND ? Optional.of(search.getGoal()) : Optional.empty();
+    }
+
+    /**
+     * Find a goal configuration if it exists, and how to get there.
+     *
+     * @param current the starting configuration
+     * @return a list of configurations to get to a goal configuration,
+     * from the first successor of current to the goal itself (just the
+     * goal when current is one). If there are none, the list is empty.
+     */
+    public List<Configuration> solveWithPath(Configuration current) {
+        IterativeBacktracker search = new IterativeBacktracker(current, debug, deadEnds, stats);
+        search.run(Long.MAX_VALUE);
+        nodes += search.getNodesExplored();
+        List<Configuration> path = search.getPath();
+        return path.size() > 1 ? path.subList(1, path.size()) : path;
+    }
+
+    /**
+     * Find a goal configuration if it exists, and the decisions that lead there.
+     * Only the moves are kept, which is much less than a configuration per step.
+     *
+     * @param current the starting configuration
+     * @return the moves from current to a goal, or empty if there is none
+     */
+    public Optional<List<Move>> solveWithTrace(Configuration current) {
+        IterativeBacktracker search = new IterativeBacktracker(current, debug, deadEnds, stats);
+        IterativeBacktracker.Status status = search.run(Long.MAX_VALUE);
+        nodes += search.getNodesExplored();
+        return status == IterativeBacktracker.Status.FOUND ? Optional.of(search.getTrace()) : Optional.empty();
+    }
+
+    /**
+     * Lazily enumerates every solution of a given configuration, in the order
+     * solve would find them. The search only goes as far as the solutions taken
+     * from the stream, so limit stops it early.
+     *
+     * @param config A valid configuration
+     * @return A stream of the goal configs
+     */
+    public Stream<Configuration> solveAll(Configuration config) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new GoalIterator(config),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Counts the solutions of a given configuration, stopping at a limit.
+     *
+     * @param config A valid configuration
+     * @param limit The search stops once this many solutions are found
+     * @return The number of solutions, at most limit
+     */
+    public long countSolutions(Configuration config, long limit) {
+        return solveAll(config).limit(limit).count();
+    }
+
+    /**
+     * Checks that a given configuration has exactly one solution. The search
+     * stops at the second one.
+     *
+     * @param config A valid configuration
+     * @return true if there is one solution, false if there are none or several
+     */
+    public boolean hasUniqueSolution(Configuration config) {
+        return countSolutions(config, 2) == 1;
+    }
+
+    /**
+     * @return number of configurations explored since the backtracker was created
+     */
+    public long getNodesExplored() {
+        return nodes;
+    }
+
+    /**
+     * @return the counters of the searches, or null if none are kept
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Runs one search up to every goal in turn.
+     */
+    private class GoalIterator implements Iterator<Configuration> {
+
+        /** The search, paused at the last goal */
+        private final IterativeBacktracker search;
+        /** The next goal, once found */
+        private Configuration next;
+        /** True once the tree is exhausted */
+        private boolean done;
+
+        /**
+         * @param root the configuration to start from
+         */
+        GoalIterator(Configuration root) {
+            this.search = new IterativeBacktracker(root, debug, deadEnds, stats);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                long before = search.getNodesExplored();
+                done = search.run(Long.MAX_VALUE) != IterativeBacktracker.Status.FOUND;
+                nodes += search.getNodesExplored() - before;
+                next = search.getGoal();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Configuration next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Configuration goal = next;
+            next = null;
+            return goal;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package backtracking;
+
+/**
+ * File: BatchSolver.java
+ */
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.Safe;
+
+/**
+ * Solves many safes at once and writes a report, e.g. for a nightly
+ * regression run. The safes are given as a directory (every regular file in
+ * it, in name order) or as a manifest file listing one safe per line,
+ * relative to the manifest; blank lines and lines starting with # are
+ * skipped.
+ *
+ * The safes are solved with PropagatingSafeConfig on a fixed pool of
+ * threads. Every safe has its own time limit: the search runs in slices and
+ * gives up once a slice ends past the limit. The report has one row per safe
+ * with its status (SOLVED, UNSOLVABLE, TIMEOUT, or ERROR if the file could
+ * not be read or its search failed), the configurations explored and the
+ * elapsed nanoseconds. It is written as JSON if its name ends in .json and as
+ * CSV otherwise, or to the standard output as CSV if no name is given.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BatchSolver {
+
+    /** Number of configurations explored between two looks at the clock */
+    private static final long SLICE = 10000;
+
+    /**
+     * Outcome of solving one safe.
+     */
+    enum Status {
+        SOLVED, UNSOLVABLE, TIMEOUT, ERROR
+    }
+
+    /**
+     * The report row of one safe.
+     */
+    static class Result {
+        /** The safe file */
+        final Path file;
+        /** Outcome of the search */
+        final Status status;
+        /** Number of configurations explored */
+        final long nodes;
+        /** Time spent on the safe, in nanoseconds */
+        final long elapsed;
+        /** Why the safe could not be read or its search failed, empty otherwise */
+        final String error;
+
+        Result(Path file, Status status, long nodes, long elapsed, String error) {
+            this.file = file;
+            this.status = status;
+            this.nodes = nodes;
+            this.elapsed = elapsed;
+            this.error = error;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 4) {
+            System.out.println("Usage: java BatchSolver safes-directory|manifest " +
+                    "[threads] [timeout-seconds] [report.csv|report.json]");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        double timeout = args.length > 2 ? Double.parseDouble(args[2]) : 60;
+        long timeoutNanos = (long) (timeout * 1e9);
+
+        List<Path> safes = listSafes(Paths.get(args[0]));
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "batch-solver");
+            // a search left running after a failure must not keep the JVM alive
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Result> results = new ArrayList<Result>(safes.size());
+        try {
+            List<Future<Result>> futures = new ArrayList<Future<Result>>(safes.size());
+            for (Path safe : safes) {
+                futures.add(pool.submit(() -> solve(safe, timeoutNanos)));
+            }
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // solve reports its own exceptions, so this is an Error or a bug in the solver itself
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            // the searches still queued are dropped when one failed
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (args.length > 3) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(args[3]), StandardCharsets.UTF_8)) {
+                if (args[3].endsWith(".json")) {
+                    writeJson(results, out);
+                } else {
+                    writeCsv(results, out);
+                }
+            }
+        } else {
+            PrintWriter out = new PrintWriter(System.out);
+            writeCsv(results, out);
+            out.flush();
+        }
+
+        Map<Status, Integer> counts = new EnumMap<Status, Integer>(Status.class);
+        for (Result result : results) {
+            counts.merge(result.status, 1, Integer::sum);
+        }
+        System.out.println(results.size() + " safes in " + elapsed / 1e9 + " seconds: " + counts);
+    }
+
+    /**
+     * @param source a directory of safes or a manifest file
+     * @return the safe files, in the order they are to be reported
+     * @throws IOException if the directory or the manifest cannot be read
+     */
+    static List<Path> listSafes(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+        Path base = source.toAbsolutePath().getParent();
+        List<Path> safes = new ArrayList<Path>();
+        for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                safes.add(base.resolve(line));
+            }
+        }
+        return safes;
+    }
+
+    /**
+     * Solves one safe within a time limit.
+     *
+     * @param file the safe file
+     * @param timeoutNanos time limit of the search, in nanoseconds
+     * @return the report row of the safe
+     */
+    static Result solve(Path file, long timeoutNanos) {
+        long start = System.nanoTime();
+        IterativeBacktracker search;
+        try {
+            search = new IterativeBacktracker(new PropagatingSafeConfig(new Safe(file.toFile())));
+        } catch (IOException | RuntimeException e) {
+            return new Result(file, Status.ERROR, 0, System.nanoTime() - start, String.valueOf(e));
+        }
+        long deadline = start + timeoutNanos;
+        IterativeBacktracker.Status status;
+        try {
+            while ((status = search.run(SLICE)) == IterativeBacktracker.Status.PAUSED) {
+                if (System.nanoTime() - deadline > 0) {
+                    return new Result(file, Status.TIMEOUT, search.getNodesExplored(), System.nanoTime() - start,
+                            "");
+                }
+            }
+        } catch (RuntimeException e) {
+            // a search that fails only fails its own safe, the batch goes on
+            return new Result(file, Status.ERROR, search.getNodesExplored(), System.nanoTime() - start,
+                    String.valueOf(e));
+        }
+        return new Result(file, status == IterativeBacktracker.Status.FOUND ? Status.SOLVED : Status.UNSOLVABLE,
+                search.getNodesExplored(), System.nanoTime() - start, "");
+    }
+
+    /**
+     * @param results the report rows
+     * @param out where the report goes
+     */
+    static void writeCsv(List<Result> results, Writer out) throws IOException {
+        out.write("file,status,nodes,elapsed_ns,error\n");
+        for (Result result : results) {
+            out.write(csv(result.file.toString()) + "," + result.status + "," + result.nodes + "," +
+                    result.elapsed + "," + csv(result.error) + "\n");
+        }
+    }
+
+    /**
+     * @param results the report rows
+     * @param out where the report goes
+     */
+    static void writeJson(List<Result> results, Writer out) throws IOException {
+        out.write("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            out.write("  {\"file\": " + json(result.file.toString()) + ", \"status\": \"" + result.status +
+                    "\", \"nodes\": " + result.nodes + ", \"elapsed_ns\": " + result.elapsed +
+                    ", \"error\": " + json(result.error) + "}" + (i < results.size() - 1 ? ",\n" : "\n"));
+        }
+        out.write("]\n");
+    }
+
+    /**
+     * @param value a field of a CSV row
+     * @return the field, quoted if it holds a comma, a quote or a line break
+     */
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * @param value a string
+     * @return the string as a JSON string literal
+     */
+    private static String json(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < ' ') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
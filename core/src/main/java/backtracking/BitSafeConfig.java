@@ -0,0 +1,209 @@
+package backtracking;
+
+/**
+ * File: BitSafeConfig.java
+ */
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import model.BitSafe;
+import model.Safe;
+import model.SegmentIndex;
+
+/**
+ * A configuration of a safe backed by a BitSafe. It walks the cells in the same
+ * row-major order as SafeConfig and prunes by the same rules, but a successor only
+ * copies the laser, beam and empty masks when a laser is placed. Successors that
+ * do not change the board share it with their parent. The board is converted back
+ * into a Safe only when asked for, e.g. once a solution is found.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BitSafeConfig implements Configuration {
+
+    /** A packed representation of a safe, never changed once the config is created */
+    private final BitSafe safe;
+    /** Current row */
+    private int currentRow;
+    /** Current column */
+    private int currentColumn;
+
+    /**
+     * Constructor with a filename as a parameter
+     * @param filename - name of the file to read
+     * @throws FileNotFoundException
+     */
+    public BitSafeConfig(String filename) throws FileNotFoundException {
+        this(new Safe(filename));
+    }
+
+    /**
+     * Constructor with Safe as a parameter
+     * @param other - an instance of Safe
+     */
+    public BitSafeConfig(Safe other) {
+        safe = new BitSafe(other);
+        currentColumn = -1;
+        currentRow = 0;
+    }
+
+    /**
+     * Constructor for a successor
+     * @param safe - board of the successor
+     * @param row - row of the successor's cell
+     * @param column - column of the successor's cell
+     */
+    private BitSafeConfig(BitSafe safe, int row, int column) {
+        this.safe = safe;
+        this.currentRow = row;
+        this.currentColumn = column;
+    }
+
+    @Override
+    public Collection<Configuration> getSuccessors() {
+        Collection<Configuration> successors = new ArrayList<Configuration>(2);
+        int row = currentRow;
+        int column = currentColumn + 1;
+        if (column == safe.getNumberOfColumns()) {
+            column = 0;
+            row++;
+        }
+        if (safe.isEmpty(row, column)) {
+            BitSafe withLaser = new BitSafe(safe);
+            withLaser.addLaser(row, column);
+            successors.add(new BitSafeConfig(withLaser, row, column));
+        }
+        successors.add(new BitSafeConfig(safe, row, column));
+        return successors;
+    }
+
+    @Override
+    public boolean isValid() {
+        return pruneReason() == null;
+    }
+
+    /**
+     * @return the first rule the current decision breaks, or null if it breaks none
+     */
+    @Override
+    public PruneReason pruneReason() {
+        if (safe.isLaser(currentRow, currentColumn) && safe.seesLaser(currentRow, currentColumn)) {
+            return PruneReason.LASER_CONFLICT;
+        }
+        // the current decision only affects the pillars next to it and the cells in its segments
+        if (!checkPillarsNearby()) {
+            return PruneReason.PILLAR_COUNT;
+        }
+        if (!checkForUncoverableCells()) {
+            return PruneReason.UNCOVERED_CELL;
+        }
+        // if we are at the last cell, check for empty cells and for every numbered pillar
+        if (isGoal()) {
+            if (safe.hasEmptyCells()) {
+                return PruneReason.UNCOVERED_CELL;
+            }
+            if (!safe.pillarsSatisfied()) {
+                return PruneReason.PILLAR_COUNT;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method checks the numbered pillars next to the current cell, the same way SafeConfig does
+     * @return true if every pillar nearby can still be satisfied, false otherwise
+     */
+    private boolean checkPillarsNearby() {
+        return checkPillar(currentRow - 1, currentColumn) && checkPillar(currentRow + 1, currentColumn) &&
+                checkPillar(currentRow, currentColumn - 1) && checkPillar(currentRow, currentColumn + 1);
+    }
+
+    /**
+     * Method checks the bounds on the lasers around one numbered pillar
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return false if the cell is a numbered pillar that cannot be satisfied any more
+     */
+    private boolean checkPillar(int row, int column) {
+        if (row < 0 || column < 0 || row >= safe.getNumberOfRows() || column >= safe.getNumberOfColumns()) {
+            return true;
+        }
+        char cell = safe.cellAt(row, column);
+        if (!Safe.isPillar(cell) || cell == Safe.X) {
+            return true;
+        }
+        int needed = cell - Safe.ZERO;
+        int lasers = safe.numberOfLasersNearby(row, column);
+        int undecided = countUndecided(row - 1, column) + countUndecided(row + 1, column) +
+                countUndecided(row, column - 1) + countUndecided(row, column + 1);
+        return lasers <= needed && needed <= lasers + undecided;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return 1 if the cell is empty and comes after the current cell, e.g. may still get a laser
+     */
+    private int countUndecided(int row, int column) {
+        if (row < 0 || column < 0 || row >= safe.getNumberOfRows() || column >= safe.getNumberOfColumns()) {
+            return 0;
+        }
+        boolean after = row > currentRow || (row == currentRow && column > currentColumn);
+        return after && safe.isEmpty(row, column) ? 1 : 0;
+    }
+
+    /**
+     * Method checks that no empty cell was left behind that no laser can cover any more.
+     * When the current cell ends a segment, the empty cells of that segment need the
+     * other segment to go on past the current cell.
+     * @return true if every empty cell can still be covered, false otherwise
+     */
+    private boolean checkForUncoverableCells() {
+        if (safe.isPillar(currentRow, currentColumn)) {
+            return true;
+        }
+        SegmentIndex segments = safe.getSegments();
+        int columns = safe.getNumberOfColumns();
+        int current = currentRow * columns + currentColumn;
+        int horizontal = segments.horizontal(currentRow, currentColumn);
+        if (segments.horizontalEnd(horizontal) == current) {
+            for (int j = segments.horizontalStart(horizontal) % columns; j <= currentColumn; j++) {
+                if (safe.isEmpty(currentRow, j) &&
+                        segments.verticalEnd(segments.vertical(currentRow, j)) <= current) {
+                    return false;
+                }
+            }
+        }
+        int vertical = segments.vertical(currentRow, currentColumn);
+        if (segments.verticalEnd(vertical) == current) {
+            for (int i = segments.verticalStart(vertical) / columns; i <= currentRow; i++) {
+                if (safe.isEmpty(i, currentColumn) &&
+                        segments.horizontalEnd(segments.horizontal(i, currentColumn)) <= current) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isGoal() {
+        return currentRow == safe.getNumberOfRows() - 1 && currentColumn == safe.getNumberOfColumns() - 1;
+    }
+
+    /**
+     * @return String representation of our BitSafeConfig
+     */
+    public String toString() {
+        return safe.toSafe().toString();
+    }
+
+    /**
+     * @return a new Safe with the cells of this configuration
+     */
+    public Safe getSafe() {
+        return safe.toSafe();
+    }
+}
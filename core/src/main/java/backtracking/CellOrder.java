@@ -0,0 +1,18 @@
+package backtracking;
+
+/**
+ * File: CellOrder.java
+ */
+
+/**
+ * The order in which a safe configuration picks the next cell to decide.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public enum CellOrder {
+    /** Cells are decided left to right, top to bottom */
+    ROW_MAJOR,
+    /** The cell with the fewest remaining options is decided first */
+    MOST_CONSTRAINED
+}
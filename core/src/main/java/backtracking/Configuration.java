@@ -0,0 +1,72 @@
+package backtracking;
+
+/**
+ * File: Configuration.java
+ */
+
+import java.util.Collection;
+
+/**
+ * The representation of a single configuration for a puzzle.
+ * The backtracking. Backtracker depends on these routines in order to
+ * solve a puzzle.  Therefore, all puzzles must implement this
+ * interface.
+ *
+ * @author Sean Strout @ RIT CS
+ */
+public interface Configuration {
+    /** The key of a configuration that does not compute one */
+    public static final long NO_KEY = 0;
+
+    /**
+     * Get the collection of successors from the current one.
+     *
+     * @return All successors, valid and invalid
+     */
+    public Collection< Configuration > getSuccessors();
+
+    /**
+     * Is the current configuration valid or not?
+     *
+     * @return true if valid; false otherwise
+     */
+    public boolean isValid();
+
+    /**
+     * Is the current configuration a goal?
+     * @return true if goal; false otherwise
+     */
+    public boolean isGoal();
+
+    /**
+     * A hash of everything that decides the subtree under this configuration,
+     * so that two configurations with the same key have the same successors.
+     * Backtrackers use it to skip subtrees already known to hold no goal.
+     *
+     * @return the key, or NO_KEY if the configuration does not compute one
+     */
+    public default long stateKey() {
+        return NO_KEY;
+    }
+
+    /**
+     * The decision that made this configuration out of its parent, so a
+     * solution can be kept as a list of moves instead of configurations.
+     *
+     * @return the move, or null if the configuration made no decision
+     */
+    public default Move lastMove() {
+        return null;
+    }
+
+    /**
+     * Why the configuration is not valid, for the search statistics. It is
+     * only asked for once isValid returned false, so it may check the rules
+     * again from scratch.
+     *
+     * @return the reason, or null if the configuration does not tell
+     */
+    public default PruneReason pruneReason() {
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package backtracking;
+
+/**
+ * File: DeadEndCache.java
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded set of configuration keys whose subtrees are known to hold no goal.
+ * Different orders of decisions can reach the same configuration, and once one of
+ * them has been searched in vain the others can be skipped.
+ *
+ * The table is split into buckets of a few slots each. A key can only live in its
+ * own bucket, and when the bucket is full a clock hand sweeps it: a slot that was
+ * hit since the last sweep gets a second chance, the first one that was not is
+ * replaced. Slots are atomic, so the cache can be shared by every worker of a
+ * parallel search without locking; two workers racing for a slot can only lose an
+ * entry, which costs a repeated search but never a wrong answer.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class DeadEndCache {
+
+    /** Slots in every bucket */
+    private static final int WAYS = 4;
+    /** Marks a free slot; a key equal to it is stored as FREE_KEY instead */
+    private static final long FREE = 0;
+    /** Stands in for a key equal to FREE */
+    private static final long FREE_KEY = 1;
+
+    /** Key in every slot */
+    private final AtomicLongArray keys;
+    /** Whether every slot was hit since the clock hand last passed it */
+    private final AtomicIntegerArray referenced;
+    /** Clock hand of every bucket */
+    private final AtomicIntegerArray hands;
+    /** Number of buckets minus one, the number of buckets being a power of two */
+    private final int bucketMask;
+    /** Number of lookups that found their key */
+    private final LongAdder hits;
+    /** Number of lookups that did not */
+    private final LongAdder misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity number of keys it may hold, rounded up to a power of two
+     */
+    public DeadEndCache(int capacity) {
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if (buckets * WAYS < capacity) {
+            buckets <<= 1;
+        }
+        keys = new AtomicLongArray(buckets * WAYS);
+        referenced = new AtomicIntegerArray(buckets * WAYS);
+        hands = new AtomicIntegerArray(buckets);
+        bucketMask = buckets - 1;
+        hits = new LongAdder();
+        misses = new LongAdder();
+    }
+
+    /**
+     * Looks a key up, and marks it as recently used if it is there.
+     *
+     * @param key the key of a configuration
+     * @return true if its subtree is known to hold no goal
+     */
+    public boolean contains(long key) {
+        key = normalize(key);
+        int first = bucket(key) * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (keys.get(slot) == key) {
+                referenced.lazySet(slot, 1);
+                hits.increment();
+                return true;
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Records that the subtree of a configuration holds no goal.
+     *
+     * @param key the key of the configuration
+     */
+    public void add(long key) {
+        key = normalize(key);
+        int bucket = bucket(key);
+        int first = bucket * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            long stored = keys.get(slot);
+            if (stored == key) {
+                return;
+            }
+            if (stored == FREE && keys.compareAndSet(slot, FREE, key)) {
+                return;
+            }
+        }
+        // every slot is taken, so sweep the bucket for one that was not hit lately
+        for (int step = 0; step < 2 * WAYS; step++) {
+            int slot = first + (hands.getAndIncrement(bucket) & (WAYS - 1));
+            if (referenced.getAndSet(slot, 0) == 0) {
+                keys.set(slot, key);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of lookups that found their key
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that did not find their key
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @param key a normalized key
+     * @return index of the bucket the key lives in
+     */
+    private int bucket(long key) {
+        long mixed = key * 0x9e3779b97f4a7c15L;
+        return (int) (mixed >>> 32) & bucketMask;
+    }
+
+    /**
+     * @param key any key
+     * @return the key, or FREE_KEY if it would read as a free slot
+     */
+    private static long normalize(long key) {
+        return key == FREE ? FREE_KEY : key;
+    }
+}
@@ -0,0 +1,355 @@
+package backtracking;
+
+/**
+ * File: InPlaceBacktracker.java
+ */
+
+import java.util.Optional;
+import model.Safe;
+import model.SegmentIndex;
+
+/**
+ * A backtracking solver for a safe that works on a single board. Placing a laser
+ * changes the board in place and records what it changed (cells turned into beams,
+ * pillar counters touched) in an undo log. Backtracking replays that log backwards,
+ * so the search allocates nothing per node. The search is a loop rather than a
+ * recursion: the cells where a laser was tried are kept on a stack with the size
+ * the undo log had before each, so the depth is not limited by the thread's stack.
+ *
+ * Cells are decided in the same row-major order as SafeConfig, laser first, and the
+ * board is pruned by the same rules, so the solution found is the same one
+ * Backtracker finds. After every cell the numbered pillars next to it must still be
+ * able to get their number of lasers from the empty cells after it, and when the
+ * cell ends a segment, every empty cell of that segment must still have its other
+ * segment go on past it. These rules only read the board, so the undo log needs
+ * nothing more for them.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class InPlaceBacktracker {
+
+    /** Number of rows in the safe */
+    private final int numberOfRows;
+    /** Number of columns in the safe */
+    private final int numberOfColumns;
+    /** Cells of the board in row-major order */
+    private final char[] cells;
+    /** Last cell of the horizontal segment of every open cell */
+    private final int[] horizontalEnds;
+    /** Last cell of the vertical segment of every open cell */
+    private final int[] verticalEnds;
+    /** Indices of the numbered pillars */
+    private final int[] numberedPillars;
+    /** Number of lasers next to every cell, only kept for numbered pillars */
+    private final int[] lasersNearby;
+    /** Undo log: a beam cell index, or ~index of a pillar whose counter was raised */
+    private final int[] undo;
+    /** Number of entries in the undo log */
+    private int undoSize;
+    /** Cells where a laser is placed on the current branch, in order */
+    private final int[] decisions;
+    /** Size of the undo log before every decision was placed */
+    private final int[] marks;
+    /** Do the lasers given with the safe see each other or crowd a pillar? */
+    private final boolean givenLasersConflict;
+    /** Number of open cells that are neither a laser nor lit */
+    private int emptyCells;
+    /** Number of nodes explored by the last search */
+    private long nodes;
+
+    /**
+     * Creates a solver for a safe. Lasers already in the safe stay where they are.
+     * @param safe - the safe to solve, it is not modified
+     */
+    public InPlaceBacktracker(Safe safe) {
+        numberOfRows = safe.getNumberOfRows();
+        numberOfColumns = safe.getNumberOfColumns();
+        int size = numberOfRows * numberOfColumns;
+        cells = new char[size];
+        lasersNearby = new int[size];
+        undo = new int[5 * size];
+        decisions = new int[size];
+        marks = new int[size];
+        horizontalEnds = new int[size];
+        verticalEnds = new int[size];
+        SegmentIndex segments = safe.getSegments();
+        char[][] grid = safe.getGrid();
+        int numbered = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                char cell = grid[i][j];
+                if (Safe.isPillar(cell)) {
+                    cells[i * numberOfColumns + j] = cell;
+                    if (cell != Safe.X) {
+                        numbered++;
+                    }
+                } else {
+                    // beams are painted again below from the lasers
+                    cells[i * numberOfColumns + j] = cell == Safe.LASER ? Safe.LASER : Safe.EMPTY;
+                    horizontalEnds[i * numberOfColumns + j] = segments.horizontalEnd(segments.horizontal(i, j));
+                    verticalEnds[i * numberOfColumns + j] = segments.verticalEnd(segments.vertical(i, j));
+                }
+            }
+        }
+        numberedPillars = new int[numbered];
+        numbered = 0;
+        for (int index = 0; index < size; index++) {
+            if (Safe.isPillar(cells[index]) && cells[index] != Safe.X) {
+                numberedPillars[numbered++] = index;
+            }
+            if (cells[index] == Safe.EMPTY) {
+                emptyCells++;
+            }
+        }
+        boolean conflict = false;
+        for (int index = 0; index < size; index++) {
+            if (cells[index] == Safe.LASER) {
+                conflict |= safe.seesLaser(index / numberOfColumns, index % numberOfColumns);
+                conflict |= !place(index);
+            }
+        }
+        givenLasersConflict = conflict;
+        // the lasers given with the safe are never undone
+        undoSize = 0;
+    }
+
+    /**
+     * Try to find a solution.
+     * @return the solved safe, or empty if there is no solution
+     */
+    public Optional<Safe> solve() {
+        nodes = 0;
+        if (!givenLasersConflict && search()) {
+            return Optional.of(toSafe());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decides every cell in row-major order, laser first. The board is left as it was
+     * when no solution is found.
+     * @return true if a solution was found, the board then holds it
+     */
+    private boolean search() {
+        int depth = 0;
+        int index = 0;
+        while (true) {
+            nodes++;
+            boolean backtrack;
+            if (index == cells.length) {
+                if (isSolved()) {
+                    return true;
+                }
+                backtrack = true;
+            } else if (cells[index] != Safe.EMPTY) {
+                // pillars, lasers and beams have nothing to decide, but the rules still apply
+                backtrack = !fits(index);
+                index++;
+            } else {
+                marks[depth] = undoSize;
+                decisions[depth++] = index;
+                cells[index] = Safe.LASER;
+                emptyCells--;
+                backtrack = !place(index) || !fits(index);
+                index++;
+            }
+            while (backtrack) {
+                if (depth == 0) {
+                    return false;
+                }
+                // take back the last laser and leave its cell empty instead
+                index = decisions[--depth];
+                undoTo(marks[depth]);
+                cells[index] = Safe.EMPTY;
+                emptyCells++;
+                backtrack = !fits(index);
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Checks the board once the cell at index is decided, like SafeConfig.pruneReason.
+     * @param index - the cell just decided
+     * @return false if a pillar next to it cannot get its number any more, or an empty cell
+     * was left that no laser can light any more
+     */
+    private boolean fits(int index) {
+        int row = index / numberOfColumns;
+        int column = index - row * numberOfColumns;
+        if ((row > 0 && !pillarFits(index - numberOfColumns, index)) ||
+                (row < numberOfRows - 1 && !pillarFits(index + numberOfColumns, index)) ||
+                (column > 0 && !pillarFits(index - 1, index)) ||
+                (column < numberOfColumns - 1 && !pillarFits(index + 1, index))) {
+            return false;
+        }
+        if (Safe.isPillar(cells[index])) {
+            return true;
+        }
+        // an empty cell can only be lit by a laser later in its row or column segment
+        if (horizontalEnds[index] == index) {
+            for (int i = index; i >= 0 && !Safe.isPillar(cells[i]) && i / numberOfColumns == row; i--) {
+                if (cells[i] == Safe.EMPTY && verticalEnds[i] <= index) {
+                    return false;
+                }
+            }
+        }
+        if (verticalEnds[index] == index) {
+            for (int i = index; i >= 0 && !Safe.isPillar(cells[i]); i -= numberOfColumns) {
+                if (cells[i] == Safe.EMPTY && horizontalEnds[i] <= index) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param pillar - index of a cell next to the one just decided
+     * @param index - the cell just decided
+     * @return false if the cell is a numbered pillar without enough empty neighbours after
+     * index to get its number of lasers
+     */
+    private boolean pillarFits(int pillar, int index) {
+        char cell = cells[pillar];
+        if (!Safe.isPillar(cell) || cell == Safe.X) {
+            return true;
+        }
+        int row = pillar / numberOfColumns;
+        int column = pillar - row * numberOfColumns;
+        int undecided = 0;
+        if (row > 0 && isUndecided(pillar - numberOfColumns, index)) {
+            undecided++;
+        }
+        if (row < numberOfRows - 1 && isUndecided(pillar + numberOfColumns, index)) {
+            undecided++;
+        }
+        if (column > 0 && isUndecided(pillar - 1, index)) {
+            undecided++;
+        }
+        if (column < numberOfColumns - 1 && isUndecided(pillar + 1, index)) {
+            undecided++;
+        }
+        return cell - Safe.ZERO <= lasersNearby[pillar] + undecided;
+    }
+
+    /**
+     * @param cell - index of a cell
+     * @param index - the cell just decided
+     * @return true if the cell is empty and comes after index, e.g. may still get a laser
+     */
+    private boolean isUndecided(int cell, int index) {
+        return cell > index && cells[cell] == Safe.EMPTY;
+    }
+
+    /**
+     * Replays the undo log backwards.
+     * @param mark - size of the log to go back to
+     */
+    private void undoTo(int mark) {
+        while (undoSize > mark) {
+            int entry = undo[--undoSize];
+            if (entry >= 0) {
+                cells[entry] = Safe.EMPTY;
+                emptyCells++;
+            } else {
+                lasersNearby[~entry]--;
+            }
+        }
+    }
+
+    /**
+     * Lights the rays of the laser at index and raises the counters of its neighbouring pillars,
+     * logging every change.
+     * @param index - index of the laser
+     * @return false if a numbered pillar now has too many lasers
+     */
+    private boolean place(int index) {
+        int row = index / numberOfColumns;
+        int rowStart = row * numberOfColumns;
+        for (int i = index - numberOfColumns; i >= 0 && light(i); i -= numberOfColumns);
+        for (int i = index + numberOfColumns; i < cells.length && light(i); i += numberOfColumns);
+        for (int i = index - 1; i >= rowStart && light(i); i--);
+        for (int i = index + 1; i < rowStart + numberOfColumns && light(i); i++);
+        boolean fits = true;
+        int column = index - rowStart;
+        if (column > 0) {
+            fits &= touch(index - 1);
+        }
+        if (column < numberOfColumns - 1) {
+            fits &= touch(index + 1);
+        }
+        if (row > 0) {
+            fits &= touch(index - numberOfColumns);
+        }
+        if (row < numberOfRows - 1) {
+            fits &= touch(index + numberOfColumns);
+        }
+        return fits;
+    }
+
+    /**
+     * Turns an empty cell into a beam.
+     * @param index - index of the cell
+     * @return true if the beam goes on past this cell
+     */
+    private boolean light(int index) {
+        char cell = cells[index];
+        if (cell == Safe.EMPTY) {
+            cells[index] = Safe.LASER_BEAM;
+            emptyCells--;
+            undo[undoSize++] = index;
+            return true;
+        }
+        return cell == Safe.LASER_BEAM;
+    }
+
+    /**
+     * Raises the counter of a numbered pillar next to a new laser.
+     * @param index - index of the neighbour
+     * @return false if the pillar now has more lasers than its number
+     */
+    private boolean touch(int index) {
+        char cell = cells[index];
+        if (Safe.isPillar(cell) && cell != Safe.X) {
+            lasersNearby[index]++;
+            undo[undoSize++] = ~index;
+            return lasersNearby[index] <= cell - Safe.ZERO;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if no cell is left empty and every numbered pillar has its number of lasers
+     */
+    private boolean isSolved() {
+        if (emptyCells != 0) {
+            return false;
+        }
+        for (int index : numberedPillars) {
+            if (lasersNearby[index] != cells[index] - Safe.ZERO) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a new Safe with the current board
+     */
+    private Safe toSafe() {
+        char[][] grid = new char[numberOfRows][numberOfColumns];
+        for (int i = 0; i < numberOfRows; i++) {
+            System.arraycopy(cells, i * numberOfColumns, grid[i], 0, numberOfColumns);
+        }
+        return new Safe(grid);
+    }
+
+    /**
+     * @return number of nodes explored by the last search
+     */
+    public long getNodesExplored() {
+        return nodes;
+    }
+}
@@ -0,0 +1,311 @@
+package backtracking;
+
+/**
+ * File: IterativeBacktracker.java
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The backtracking algorithm without recursion. The branch being searched is
+ * kept in arrays, one entry per level: the configuration, the successors still
+ * to try and its key for the dead-end cache. The arrays grow as needed, so the
+ * depth of the tree is only limited by the heap, not by the thread's stack.
+ *
+ * The search is resumable. run stops at every goal and can be called again for
+ * the next one, and it can be given a budget of configurations, or be asked
+ * from another thread to pause, after which it picks up exactly where it was.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class IterativeBacktracker {
+
+    /**
+     * Why run returned.
+     */
+    public enum Status {
+        /** A goal was found, run again for the next one */
+        FOUND,
+        /** The whole tree was searched, there are no more goals */
+        EXHAUSTED,
+        /** The budget ran out or a pause was asked for, run again to go on */
+        PAUSED
+    }
+
+    /** Levels the arrays start with */
+    private static final int INITIAL_DEPTH = 64;
+
+    /** Is debugging output enabled? */
+    private final boolean debug;
+    /** Configurations known to lead nowhere, or null to search every subtree */
+    private final DeadEndCache deadEnds;
+    /** Counters of the search, or null to keep none */
+    private final SearchStats stats;
+    /** When the time spent was last added to the stats */
+    private long tick;
+    /** Configuration at every level of the branch */
+    private Configuration[] configs;
+    /** Successors still to try at every level */
+    private Iterator<?>[] successors;
+    /** State key of the configuration at every level */
+    private long[] keys;
+    /** Number of goals found before every level was entered */
+    private long[] goalsBefore;
+    /** Number of levels in the branch */
+    private int depth;
+    /** The starting configuration, until it is visited */
+    private Configuration root;
+    /** The goal found by the last run */
+    private Configuration goal;
+    /** Number of goals found so far */
+    private long goals;
+    /** Number of configurations explored so far */
+    private long nodes;
+    /** Set by pause, checked before every configuration */
+    private volatile boolean pauseRequested;
+
+    /**
+     * Prepares a search that has not started yet.
+     *
+     * @param root the configuration to start from
+     * @param debug Is debugging output enabled?
+     * @param deadEnds where dead ends are recorded, or null to search every subtree
+     */
+    public IterativeBacktracker(Configuration root, boolean debug, DeadEndCache deadEnds) {
+        this(root, debug, deadEnds, null);
+    }
+
+    /**
+     * Prepares a search that has not started yet and counts what it does.
+     *
+     * @param root the configuration to start from
+     * @param debug Is debugging output enabled?
+     * @param deadEnds where dead ends are recorded, or null to search every subtree
+     * @param stats where the search is counted, or null to keep no counters
+     */
+    public IterativeBacktracker(Configuration root, boolean debug, DeadEndCache deadEnds, SearchStats stats) {
+        this.root = root;
+        this.debug = debug;
+        this.deadEnds = deadEnds;
+        this.stats = stats;
+        this.configs = new Configuration[INITIAL_DEPTH];
+        this.successors = new Iterator<?>[INITIAL_DEPTH];
+        this.keys = new long[INITIAL_DEPTH];
+        this.goalsBefore = new long[INITIAL_DEPTH];
+    }
+
+    /**
+     * Prepares a search that has not started yet.
+     *
+     * @param root the configuration to start from
+     */
+    public IterativeBacktracker(Configuration root) {
+        this(root, false, null);
+    }
+
+    /**
+     * Searches until the next goal, the end of the tree, or until the budget
+     * runs out.
+     *
+     * @param maxNodes number of configurations this call may explore
+     * @return FOUND, EXHAUSTED or PAUSED
+     */
+    public Status run(long maxNodes) {
+        long stop = maxNodes > Long.MAX_VALUE - nodes ? Long.MAX_VALUE : nodes + maxNodes;
+        goal = null;
+        if (stats != null) {
+            // time spent paused is not spent at any depth
+            tick = System.nanoTime();
+        }
+        if (root != null) {
+            if (nodes >= stop || pauseRequested) {
+                return paused();
+            }
+            Configuration start = root;
+            root = null;
+            if (visit(start)) {
+                return Status.FOUND;
+            }
+        }
+        while (depth > 0) {
+            Iterator<?> children = successors[depth - 1];
+            if (!children.hasNext()) {
+                // implicit backtracking happens here
+                pop();
+                continue;
+            }
+            if (nodes >= stop || pauseRequested) {
+                return paused();
+            }
+            Configuration child = (Configuration) children.next();
+            if (child.isValid()) {
+                debugPrint("\tValid successor", child);
+                if (stats != null) {
+                    stats.validSuccessor();
+                }
+                if (visit(child)) {
+                    return Status.FOUND;
+                }
+            } else {
+                debugPrint("\tInvalid successor", child);
+                if (stats != null) {
+                    stats.invalidSuccessor(child.pruneReason());
+                    charge(depth - 1);
+                }
+            }
+        }
+        return Status.EXHAUSTED;
+    }
+
+    /**
+     * Asks a running search to stop before its next configuration; it returns
+     * PAUSED and can be run again. Safe to call from any thread.
+     */
+    public void pause() {
+        pauseRequested = true;
+    }
+
+    /**
+     * @return the goal found by the last run, or null if it did not return FOUND
+     */
+    public Configuration getGoal() {
+        return goal;
+    }
+
+    /**
+     * @return the configurations from the starting one to the goal found by the
+     * last run, or an empty list if it did not return FOUND
+     */
+    public List<Configuration> getPath() {
+        List<Configuration> path = new ArrayList<Configuration>(depth + 1);
+        if (goal != null) {
+            path.addAll(Arrays.asList(configs).subList(0, depth));
+            path.add(goal);
+        }
+        return path;
+    }
+
+    /**
+     * @return the decisions from the starting configuration to the goal found by
+     * the last run, or an empty list if it did not return FOUND
+     */
+    public List<Move> getTrace() {
+        List<Move> trace = new ArrayList<Move>(depth);
+        for (Configuration config : getPath()) {
+            Move move = config.lastMove();
+            if (move != null) {
+                trace.add(move);
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * @return number of levels in the branch being searched
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return number of configurations explored so far
+     */
+    public long getNodesExplored() {
+        return nodes;
+    }
+
+    /**
+     * Explores a valid configuration: a goal is kept, anything else gets a level
+     * with its successors unless it is a known dead end.
+     *
+     * @param config the configuration
+     * @return true if it is a goal
+     */
+    private boolean visit(Configuration config) {
+        nodes++;
+        debugPrint("Current config", config);
+        if (stats != null) {
+            stats.expanded(depth);
+        }
+        if (config.isGoal()) {
+            debugPrint("\tGoal config", config);
+            goal = config;
+            goals++;
+            return true;
+        }
+        // the key is taken first, since getSuccessors may move the configuration on
+        long key = deadEnds == null ? Configuration.NO_KEY : config.stateKey();
+        if (key != Configuration.NO_KEY && deadEnds.contains(key)) {
+            debugPrint("\tKnown dead end", config);
+            return false;
+        }
+        if (depth == configs.length) {
+            configs = Arrays.copyOf(configs, depth * 2);
+            successors = Arrays.copyOf(successors, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+            goalsBefore = Arrays.copyOf(goalsBefore, depth * 2);
+        }
+        configs[depth] = config;
+        if (stats != null && depth > 0) {
+            // checking a successor belongs to its parent, making its own successors to itself
+            charge(depth - 1);
+        }
+        successors[depth] = config.getSuccessors().iterator();
+        if (stats != null) {
+            charge(depth);
+        }
+        keys[depth] = key;
+        goalsBefore[depth] = goals;
+        depth++;
+        return false;
+    }
+
+    /**
+     * Leaves the deepest level once all of its successors were tried, recording it
+     * as a dead end if no goal was found under it.
+     */
+    private void pop() {
+        depth--;
+        if (keys[depth] != Configuration.NO_KEY && goalsBefore[depth] == goals) {
+            deadEnds.add(keys[depth]);
+        }
+        configs[depth] = null;
+        successors[depth] = null;
+    }
+
+    /**
+     * Adds the time since the last tick to a depth of the stats.
+     *
+     * @param level the depth
+     */
+    private void charge(int level) {
+        long now = System.nanoTime();
+        stats.timeSpent(level, now - tick);
+        tick = now;
+    }
+
+    /**
+     * @return PAUSED, once the pause request is cleared
+     */
+    private Status paused() {
+        pauseRequested = false;
+        return Status.PAUSED;
+    }
+
+    /**
+     * A utility routine for printing out various debug messages.
+     *
+     * @param msg    The type of config being looked at (current, goal,
+     *               successor, e.g.)
+     * @param config The config to display
+     */
+    private void debugPrint(String msg, Configuration config) {
+        if (this.debug) {
+            System.out.println(msg + ":\n" + config);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package backtracking;
+
+/**
+ * File: Move.java
+ */
+
+/**
+ * One decision of the solver: whether a cell got a laser or was left without one.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class Move {
+
+    /** Row of the cell */
+    private final int row;
+    /** Column of the cell */
+    private final int column;
+    /** True if a laser was placed in the cell */
+    private final boolean placed;
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @param placed - true if a laser was placed in the cell
+     */
+    public Move(int row, int column, boolean placed) {
+        this.row = row;
+        this.column = column;
+        this.placed = placed;
+    }
+
+    /**
+     * @return row of the cell
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return column of the cell
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return true if a laser was placed in the cell
+     */
+    public boolean isPlaced() {
+        return placed;
+    }
+
+    /**
+     * @return String representation of the move
+     */
+    public String toString() {
+        return (placed ? "laser at (" : "no laser at (") + row + ", " + column + ")";
+    }
+}
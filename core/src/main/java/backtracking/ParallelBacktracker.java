@@ -0,0 +1,208 @@
+package backtracking;
+
+/**
+ * File: ParallelBacktracker.java
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The backtracking algorithm spread over a fork-join pool. The top levels of
+ * the configuration tree are always split into tasks; below them a worker only
+ * forks its children while the pool is running low on queued work, and searches
+ * the subtree itself with an IterativeBacktracker otherwise. Idle workers steal
+ * the queued subtrees, so an unbalanced tree keeps every core busy.
+ *
+ * The first goal found wins: every task checks for it before expanding a
+ * configuration, or between slices of its own search, so the remaining work
+ * winds down right away. Which goal is
+ * found first depends on scheduling when a puzzle has more than one solution.
+ *
+ * Any Configuration works, as long as a configuration does not share mutable
+ * state with its siblings, since siblings may be expanded on different threads.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class ParallelBacktracker {
+
+    /** Levels of the tree that are always split into tasks */
+    private static final int SPLIT_DEPTH = 4;
+    /** A worker forks its children while it has fewer queued tasks than this */
+    private static final int SURPLUS = 3;
+    /** Configurations a worker searches on its own between checks for a goal found elsewhere */
+    private static final long SLICE = 1000;
+
+    /** The pool the search runs in */
+    private final ForkJoinPool pool;
+    /** Number of configurations explored since the backtracker was created */
+    private final LongAdder nodes;
+    /** Configurations known to lead nowhere, or null to search every subtree */
+    private final DeadEndCache deadEnds;
+
+    /**
+     * Initialize a new backtracker using every available core.
+     */
+    public ParallelBacktracker() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initialize a new backtracker.
+     *
+     * @param parallelism number of worker threads
+     */
+    public ParallelBacktracker(int parallelism) {
+        this(parallelism, null);
+    }
+
+    /**
+     * Initialize a new backtracker whose workers share a cache of dead ends.
+     *
+     * @param parallelism number of worker threads
+     * @param deadEnds where dead ends are recorded, or null to search every subtree
+     */
+    public ParallelBacktracker(int parallelism, DeadEndCache deadEnds) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.nodes = new LongAdder();
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Try find a solution, if one exists, for a given configuration.
+     *
+     * @param config A valid configuration
+     * @return A solution config, or empty if no solution
+     */
+    public Optional<Configuration> solve(Configuration config) {
+        AtomicReference<Configuration> goal = new AtomicReference<Configuration>();
+        pool.invoke(new SearchTask(config, 0, goal));
+        return Optional.ofNullable(goal.get());
+    }
+
+    /**
+     * @return number of configurations explored since the backtracker was created
+     */
+    public long getNodesExplored() {
+        return nodes.sum();
+    }
+
+    /**
+     * Stops the worker threads. The backtracker cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * A task that searches the subtree under one configuration.
+     */
+    private class SearchTask extends RecursiveAction {
+
+        /** Version of the serialized form, which is never used */
+        private static final long serialVersionUID = 1L;
+
+        /** Root of the subtree */
+        private final Configuration config;
+        /** Depth of the root in the whole tree */
+        private final int depth;
+        /** The goal found by any task, shared by all of them */
+        private final AtomicReference<Configuration> goal;
+
+        /**
+         * @param config root of the subtree
+         * @param depth depth of the root in the whole tree
+         * @param goal where the first goal found is stored
+         */
+        SearchTask(Configuration config, int depth, AtomicReference<Configuration> goal) {
+            this.config = config;
+            this.depth = depth;
+            this.goal = goal;
+        }
+
+        @Override
+        protected void compute() {
+            search(config, depth);
+        }
+
+        /**
+         * Searches a subtree, forking the children of a configuration into tasks when the
+         * pool needs work. A configuration with a single child goes on with it in this task.
+         *
+         * @param current root of the subtree
+         * @param level depth of the root in the whole tree
+         */
+        private void search(Configuration current, int level) {
+            List<Long> chain = new ArrayList<Long>();
+            while (goal.get() == null) {
+                if (level >= SPLIT_DEPTH && getSurplusQueuedTaskCount() >= SURPLUS) {
+                    searchAlone(current);
+                    break;
+                }
+                nodes.increment();
+                if (current.isGoal()) {
+                    goal.compareAndSet(null, current);
+                    return;
+                }
+                long key = deadEnds == null ? Configuration.NO_KEY : current.stateKey();
+                if (key != Configuration.NO_KEY) {
+                    if (deadEnds.contains(key)) {
+                        break;
+                    }
+                    chain.add(key);
+                }
+                List<Configuration> children = new ArrayList<Configuration>();
+                for (Configuration child : current.getSuccessors()) {
+                    if (child.isValid()) {
+                        children.add(child);
+                    }
+                }
+                if (children.size() != 1) {
+                    List<SearchTask> tasks = new ArrayList<SearchTask>(children.size());
+                    for (Configuration child : children) {
+                        tasks.add(new SearchTask(child, level + 1, goal));
+                    }
+                    invokeAll(tasks);
+                    break;
+                }
+                current = children.get(0);
+                level++;
+            }
+            // a subtree cut short by a goal elsewhere was not searched to the end
+            if (goal.get() == null) {
+                for (long key : chain) {
+                    deadEnds.add(key);
+                }
+            }
+        }
+
+        /**
+         * Searches a subtree in this worker, in slices so it stops soon after a goal is
+         * found by another task.
+         *
+         * @param start root of the subtree
+         */
+        private void searchAlone(Configuration start) {
+            IterativeBacktracker search = new IterativeBacktracker(start, false, deadEnds);
+            IterativeBacktracker.Status status;
+            long counted = 0;
+            while ((status = search.run(SLICE)) == IterativeBacktracker.Status.PAUSED) {
+                nodes.add(search.getNodesExplored() - counted);
+                counted = search.getNodesExplored();
+                if (goal.get() != null) {
+                    return;
+                }
+            }
+            nodes.add(search.getNodesExplored() - counted);
+            if (status == IterativeBacktracker.Status.FOUND) {
+                goal.compareAndSet(null, search.getGoal());
+            }
+        }
+    }
+}
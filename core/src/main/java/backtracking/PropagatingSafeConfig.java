@@ -0,0 +1,470 @@
+package backtracking;
+
+/**
+ * File: PropagatingSafeConfig.java
+ */
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import model.Safe;
+import model.SegmentIndex;
+
+/**
+ * A configuration of a safe that applies every forced move before it is handed
+ * to the backtracker. Each open cell is either undecided, a laser, or known to
+ * hold no laser, and after every decision the following rules run until nothing
+ * changes:
+ *
+ * - a laser rules out every other cell in its row and column segments;
+ * - a numbered pillar that already has its number of lasers rules out its other
+ *   neighbours, and one that needs all of its undecided neighbours gets them;
+ * - an unlit cell that only one undecided cell can still cover forces a laser there.
+ *
+ * A rule that cannot be met (too many or too few lasers at a pillar, a cell
+ * nobody can cover, two lasers in one segment) makes the configuration invalid.
+ * The backtracker only has to guess when no rule applies.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class PropagatingSafeConfig implements Configuration {
+
+    /** An open cell that is not decided yet */
+    private static final byte UNKNOWN = 0;
+    /** A cell holding a laser */
+    private static final byte LASER = 1;
+    /** An open cell known to hold no laser */
+    private static final byte NONE = 2;
+    /** A pillar */
+    private static final byte PILLAR = 3;
+
+    /** Number of rows in the safe */
+    private final int numberOfRows;
+    /** Number of columns in the safe */
+    private final int numberOfColumns;
+    /** Pillar of every cell in row-major order, EMPTY for open cells. Shared between copies */
+    private final char[] layout;
+    /** Open segments of the safe. Shared between copies */
+    private final SegmentIndex segments;
+    /** State of every cell */
+    private final byte[] state;
+    /** Number of lasers in every horizontal segment */
+    private final int[] horizontalLasers;
+    /** Number of lasers in every vertical segment */
+    private final int[] verticalLasers;
+    /** Order in which the cells are guessed when no rule applies */
+    private final CellOrder order;
+    /** Keys of the Zobrist hash. Shared between copies */
+    private final ZobristKeys keys;
+    /** Zobrist hash of the pillars and the decided cells */
+    private long hash;
+    /** Number of undecided cells */
+    private int unknownCells;
+    /** False once a rule could not be met */
+    private boolean consistent;
+    /** Cells changed but not propagated yet, only used while propagating */
+    private int[] pending;
+    /** Number of cells in pending */
+    private int pendingSize;
+
+    /**
+     * Constructor with a filename as a parameter
+     * @param filename - name of the file to read
+     * @throws FileNotFoundException
+     */
+    public PropagatingSafeConfig(String filename) throws FileNotFoundException {
+        this(new Safe(filename));
+    }
+
+    /**
+     * Constructor with Safe as a parameter. Lasers already in the safe are kept, and the
+     * forced moves are applied right away.
+     * @param other - an instance of Safe
+     */
+    public PropagatingSafeConfig(Safe other) {
+        this(other, CellOrder.ROW_MAJOR);
+    }
+
+    /**
+     * Constructor with Safe and the order of the guesses as parameters. Lasers already in
+     * the safe are kept, and the forced moves are applied right away.
+     * @param other - an instance of Safe
+     * @param order - order in which the cells are guessed when no rule applies
+     */
+    public PropagatingSafeConfig(Safe other, CellOrder order) {
+        this.order = order;
+        numberOfRows = other.getNumberOfRows();
+        numberOfColumns = other.getNumberOfColumns();
+        segments = other.getSegments();
+        int cells = numberOfRows * numberOfColumns;
+        layout = new char[cells];
+        state = new byte[cells];
+        keys = ZobristKeys.forCells(cells);
+        hash = keys.pillars(other.getGrid());
+        horizontalLasers = new int[segments.numberOfHorizontal()];
+        verticalLasers = new int[segments.numberOfVertical()];
+        char[][] grid = other.getGrid();
+        for (int index = 0; index < cells; index++) {
+            char cell = grid[index / numberOfColumns][index % numberOfColumns];
+            if (Safe.isPillar(cell)) {
+                layout[index] = cell;
+                state[index] = PILLAR;
+            } else {
+                layout[index] = Safe.EMPTY;
+                unknownCells++;
+            }
+        }
+        consistent = true;
+        startPropagation();
+        for (int index = 0; index < cells && consistent; index++) {
+            if (grid[index / numberOfColumns][index % numberOfColumns] == Safe.LASER) {
+                consistent = assignLaser(index);
+            }
+        }
+        for (int index = 0; index < cells && consistent; index++) {
+            if (state[index] == PILLAR) {
+                consistent = checkPillar(index);
+            } else {
+                consistent = checkCover(index);
+            }
+        }
+        consistent = consistent && propagate();
+    }
+
+    /**
+     * Creates a copy of a configuration that can then be given one more decision.
+     * @param other - the configuration to copy
+     */
+    private PropagatingSafeConfig(PropagatingSafeConfig other) {
+        numberOfRows = other.numberOfRows;
+        numberOfColumns = other.numberOfColumns;
+        layout = other.layout;
+        segments = other.segments;
+        order = other.order;
+        keys = other.keys;
+        hash = other.hash;
+        state = other.state.clone();
+        horizontalLasers = other.horizontalLasers.clone();
+        verticalLasers = other.verticalLasers.clone();
+        unknownCells = other.unknownCells;
+        consistent = other.consistent;
+    }
+
+    @Override
+    public Collection<Configuration> getSuccessors() {
+        Collection<Configuration> successors = new ArrayList<Configuration>(2);
+        if (!consistent) {
+            return successors;
+        }
+        int cell = order == CellOrder.MOST_CONSTRAINED ? mostConstrainedCell() : firstUnknownCell();
+        if (cell < 0) {
+            return successors;
+        }
+        PropagatingSafeConfig withLaser = new PropagatingSafeConfig(this);
+        withLaser.startPropagation();
+        withLaser.consistent = withLaser.assignLaser(cell) && withLaser.propagate();
+        successors.add(withLaser);
+        PropagatingSafeConfig withoutLaser = new PropagatingSafeConfig(this);
+        withoutLaser.startPropagation();
+        withoutLaser.consistent = withoutLaser.assignNone(cell) && withoutLaser.propagate();
+        successors.add(withoutLaser);
+        return successors;
+    }
+
+    @Override
+    public boolean isValid() {
+        return consistent;
+    }
+
+    @Override
+    public boolean isGoal() {
+        return consistent && unknownCells == 0;
+    }
+
+    /**
+     * The rules only look at the pillars and the decided cells, so they decide the whole subtree
+     * @return Zobrist hash of the pillars and the decided cells
+     */
+    @Override
+    public long stateKey() {
+        return hash;
+    }
+
+    /**
+     * @return index of the first undecided cell in row-major order, -1 if there is none
+     */
+    private int firstUnknownCell() {
+        for (int cell = 0; cell < state.length; cell++) {
+            if (state[cell] == UNKNOWN) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the unlit cell with the fewest undecided cells left that could cover it, and
+     * returns the first of those. Cells with a single candidate never get here, since the
+     * rules already place a laser on it.
+     * @return index of the cell to guess, -1 if every cell is decided
+     */
+    private int mostConstrainedCell() {
+        int best = -1;
+        int bestCandidates = Integer.MAX_VALUE;
+        for (int cell = 0; cell < state.length; cell++) {
+            if (state[cell] == PILLAR || state[cell] == LASER || isLit(cell)) {
+                continue;
+            }
+            int candidates = 0;
+            int first = -1;
+            int segment = segments.horizontalOf(cell);
+            for (int i = segments.horizontalStart(segment); i <= segments.horizontalEnd(segment); i++) {
+                if (state[i] == UNKNOWN) {
+                    candidates++;
+                    first = first < 0 ? i : first;
+                }
+            }
+            segment = segments.verticalOf(cell);
+            for (int i = segments.verticalStart(segment); i <= segments.verticalEnd(segment); i += numberOfColumns) {
+                if (i != cell && state[i] == UNKNOWN) {
+                    candidates++;
+                    first = first < 0 ? i : first;
+                }
+            }
+            if (candidates < bestCandidates) {
+                best = first;
+                bestCandidates = candidates;
+            }
+        }
+        return best < 0 ? firstUnknownCell() : best;
+    }
+
+    /**
+     * Prepares the list of changed cells for a round of propagation.
+     */
+    private void startPropagation() {
+        pending = new int[state.length];
+        pendingSize = 0;
+    }
+
+    /**
+     * Applies the rules to every changed cell until nothing changes any more.
+     * @return false if some rule could not be met
+     */
+    private boolean propagate() {
+        boolean ok = true;
+        while (ok && pendingSize > 0) {
+            int cell = pending[--pendingSize];
+            ok = state[cell] == LASER ? ruleOutSegments(cell) : recheckCover(cell);
+            int row = cell / numberOfColumns;
+            int column = cell % numberOfColumns;
+            if (ok && column > 0 && state[cell - 1] == PILLAR) {
+                ok = checkPillar(cell - 1);
+            }
+            if (ok && column < numberOfColumns - 1 && state[cell + 1] == PILLAR) {
+                ok = checkPillar(cell + 1);
+            }
+            if (ok && row > 0 && state[cell - numberOfColumns] == PILLAR) {
+                ok = checkPillar(cell - numberOfColumns);
+            }
+            if (ok && row < numberOfRows - 1 && state[cell + numberOfColumns] == PILLAR) {
+                ok = checkPillar(cell + numberOfColumns);
+            }
+        }
+        pending = null;
+        return ok;
+    }
+
+    /**
+     * Marks every undecided cell in the segments of a new laser as holding no laser.
+     * @param laser - index of the laser
+     * @return false if some rule could not be met
+     */
+    private boolean ruleOutSegments(int laser) {
+        int segment = segments.horizontalOf(laser);
+        for (int i = segments.horizontalStart(segment); i <= segments.horizontalEnd(segment); i++) {
+            if (state[i] == UNKNOWN && !assignNone(i)) {
+                return false;
+            }
+        }
+        segment = segments.verticalOf(laser);
+        for (int i = segments.verticalStart(segment); i <= segments.verticalEnd(segment); i += numberOfColumns) {
+            if (state[i] == UNKNOWN && !assignNone(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A cell was ruled out, so every cell of its segments has one candidate less.
+     * @param cell - index of the ruled out cell
+     * @return false if some cell can no longer be covered
+     */
+    private boolean recheckCover(int cell) {
+        int segment = segments.horizontalOf(cell);
+        for (int i = segments.horizontalStart(segment); i <= segments.horizontalEnd(segment); i++) {
+            if (!checkCover(i)) {
+                return false;
+            }
+        }
+        segment = segments.verticalOf(cell);
+        for (int i = segments.verticalStart(segment); i <= segments.verticalEnd(segment); i += numberOfColumns) {
+            if (i != cell && !checkCover(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that an open cell can still be covered, and places a laser on its only candidate.
+     * @param cell - index of the cell
+     * @return false if no undecided cell can cover it
+     */
+    private boolean checkCover(int cell) {
+        if (isLit(cell)) {
+            return true;
+        }
+        int candidates = 0;
+        int candidate = -1;
+        int segment = segments.horizontalOf(cell);
+        for (int i = segments.horizontalStart(segment); i <= segments.horizontalEnd(segment); i++) {
+            if (state[i] == UNKNOWN) {
+                candidates++;
+                candidate = i;
+            }
+        }
+        segment = segments.verticalOf(cell);
+        for (int i = segments.verticalStart(segment); i <= segments.verticalEnd(segment) && candidates < 2;
+             i += numberOfColumns) {
+            if (i != cell && state[i] == UNKNOWN) {
+                candidates++;
+                candidate = i;
+            }
+        }
+        if (candidates == 0) {
+            return false;
+        }
+        return candidates > 1 || assignLaser(candidate);
+    }
+
+    /**
+     * Checks the lasers around a numbered pillar and decides its undecided neighbours when
+     * their values are forced.
+     * @param pillar - index of the pillar
+     * @return false if the pillar can no longer get its number of lasers
+     */
+    private boolean checkPillar(int pillar) {
+        if (layout[pillar] == Safe.X) {
+            return true;
+        }
+        int needed = layout[pillar] - Safe.ZERO;
+        int lasers = 0;
+        int unknown = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbour = neighbour(pillar, direction);
+            if (neighbour >= 0 && state[neighbour] == LASER) {
+                lasers++;
+            } else if (neighbour >= 0 && state[neighbour] == UNKNOWN) {
+                unknown++;
+            }
+        }
+        if (lasers > needed || lasers + unknown < needed) {
+            return false;
+        }
+        if (unknown > 0 && (lasers == needed || lasers + unknown == needed)) {
+            boolean place = lasers < needed;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = neighbour(pillar, direction);
+                if (neighbour >= 0 && state[neighbour] == UNKNOWN &&
+                        !(place ? assignLaser(neighbour) : assignNone(neighbour))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param cell - index of a cell
+     * @param direction - 0 for north, 1 for south, 2 for west and 3 for east
+     * @return index of the neighbour in that direction, -1 past the edge of the safe
+     */
+    private int neighbour(int cell, int direction) {
+        int row = cell / numberOfColumns;
+        int column = cell % numberOfColumns;
+        switch (direction) {
+            case 0:
+                return row > 0 ? cell - numberOfColumns : -1;
+            case 1:
+                return row < numberOfRows - 1 ? cell + numberOfColumns : -1;
+            case 2:
+                return column > 0 ? cell - 1 : -1;
+            default:
+                return column < numberOfColumns - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Places a laser on an undecided cell.
+     * @param cell - index of the cell
+     * @return false if the cell cannot hold a laser
+     */
+    private boolean assignLaser(int cell) {
+        if (state[cell] != UNKNOWN || isLit(cell)) {
+            return state[cell] == LASER;
+        }
+        state[cell] = LASER;
+        hash ^= keys.laser(cell);
+        horizontalLasers[segments.horizontalOf(cell)]++;
+        verticalLasers[segments.verticalOf(cell)]++;
+        unknownCells--;
+        pending[pendingSize++] = cell;
+        return true;
+    }
+
+    /**
+     * Marks an undecided cell as holding no laser.
+     * @param cell - index of the cell
+     * @return false if the cell already holds a laser
+     */
+    private boolean assignNone(int cell) {
+        if (state[cell] != UNKNOWN) {
+            return state[cell] == NONE;
+        }
+        state[cell] = NONE;
+        hash ^= keys.none(cell);
+        unknownCells--;
+        pending[pendingSize++] = cell;
+        return true;
+    }
+
+    /**
+     * @param cell - index of an open cell
+     * @return true if a laser is in one of its segments
+     */
+    private boolean isLit(int cell) {
+        return horizontalLasers[segments.horizontalOf(cell)] > 0 || verticalLasers[segments.verticalOf(cell)] > 0;
+    }
+
+    /**
+     * @return String representation of our PropagatingSafeConfig
+     */
+    public String toString() {
+        return getSafe().toString();
+    }
+
+    /**
+     * Builds a safe with the lasers placed so far and their beams.
+     * @return a new Safe
+     */
+    public Safe getSafe() {
+        char[][] grid = new char[numberOfRows][numberOfColumns];
+        for (int index = 0; index < state.length; index++) {
+            grid[index / numberOfColumns][index % numberOfColumns] = state[index] == LASER ? Safe.LASER : layout[index];
+        }
+        return new Safe(grid);
+    }
+}
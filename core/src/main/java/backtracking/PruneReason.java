@@ -0,0 +1,21 @@
+package backtracking;
+
+/**
+ * File: PruneReason.java
+ */
+
+/**
+ * Why a configuration was found invalid, so the search statistics can tell
+ * which rule cuts the tree.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public enum PruneReason {
+    /** A laser sees another laser in its row or column segment */
+    LASER_CONFLICT,
+    /** A numbered pillar has too many lasers around it, or can no longer get enough */
+    PILLAR_COUNT,
+    /** An empty cell is left that no laser can cover any more */
+    UNCOVERED_CELL
+}
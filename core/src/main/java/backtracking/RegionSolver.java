@@ -0,0 +1,169 @@
+package backtracking;
+
+/**
+ * File: RegionSolver.java
+ */
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import model.Safe;
+import model.SafeRegions;
+
+/**
+ * Solves a safe one region at a time, see SafeRegions. The regions cannot
+ * interact, so each is searched with PropagatingSafeConfig on its own, on a
+ * fixed pool of threads, and their solutions are merged into one. A safe cut
+ * by its pillars into regions then costs the sum of the searches of its
+ * regions, instead of one search over the whole safe.
+ *
+ * The largest regions are started first so a big one does not end up alone at
+ * the end. Once one region turns out to have no solution, the regions not
+ * started yet are dropped.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class RegionSolver {
+
+    /** The threads the regions are solved on */
+    private final ExecutorService pool;
+    /** Number of configurations explored since the solver was created */
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * Initialize a new solver using every available core.
+     */
+    public RegionSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initialize a new solver.
+     *
+     * @param threads number of regions solved at the same time
+     */
+    public RegionSolver(int threads) {
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Try find a solution, if one exists, for a given safe.
+     *
+     * @param safe the safe, left unchanged
+     * @return the solved safe, or empty if no solution
+     */
+    public Optional<Safe> solve(Safe safe) {
+        SafeRegions regions = new SafeRegions(safe);
+        List<Optional<Safe>> solutions = run(regions, region -> () -> {
+            Backtracker bt = new Backtracker(false);
+            Optional<Configuration> sol = bt.solve(new PropagatingSafeConfig(regions.extract(region)));
+            nodes.add(bt.getNodesExplored());
+            return sol.map(config -> ((PropagatingSafeConfig) config).getSafe());
+        }, Optional::isPresent);
+        List<Safe> solved = new ArrayList<Safe>(solutions.size());
+        for (Optional<Safe> solution : solutions) {
+            if (solution == null || !solution.isPresent()) {
+                return Optional.empty();
+            }
+            solved.add(solution.get());
+        }
+        return Optional.of(regions.merge(solved));
+    }
+
+    /**
+     * Counts the solutions of a safe, as the product of the counts of its
+     * regions.
+     *
+     * @param safe the safe, left unchanged
+     * @return number of solutions
+     */
+    public BigInteger countSolutions(Safe safe) {
+        SafeRegions regions = new SafeRegions(safe);
+        List<Long> counts = run(regions, region -> () -> {
+            Backtracker bt = new Backtracker(false);
+            long count = bt.countSolutions(new PropagatingSafeConfig(regions.extract(region)), Long.MAX_VALUE);
+            nodes.add(bt.getNodesExplored());
+            return count;
+        }, count -> count > 0);
+        BigInteger product = BigInteger.ONE;
+        for (Long count : counts) {
+            if (count == null) {
+                return BigInteger.ZERO;
+            }
+            product = product.multiply(BigInteger.valueOf(count));
+        }
+        return product;
+    }
+
+    /**
+     * @return number of configurations explored since the solver was created
+     */
+    public long getNodesExplored() {
+        return nodes.sum();
+    }
+
+    /**
+     * Stops the threads once the searches running are done.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Runs a search on every region, the largest first, until every search is
+     * done or one of them leaves the safe unsolvable.
+     *
+     * @param regions the regions of the safe
+     * @param task the search of a region
+     * @param feasible false for a region result that leaves the safe unsolvable
+     * @return the result of every region, in region order; null for the
+     * regions dropped after an unsolvable one
+     */
+    private <T> List<T> run(SafeRegions regions, IntFunction<Callable<T>> task, Predicate<T> feasible) {
+        int count = regions.getNumberOfRegions();
+        Integer[] order = new Integer[count];
+        for (int region = 0; region < count; region++) {
+            order[region] = region;
+        }
+        Arrays.sort(order, Comparator.comparingInt(regions::getSize).reversed());
+
+        List<Future<T>> futures = new ArrayList<Future<T>>(Collections.nCopies(count, null));
+        for (int region : order) {
+            futures.set(region, pool.submit(task.apply(region)));
+        }
+        List<T> results = new ArrayList<T>(Collections.nCopies(count, null));
+        boolean failed = false;
+        for (int region : order) {
+            Future<T> future = futures.get(region);
+            if (failed) {
+                future.cancel(false);
+                continue;
+            }
+            try {
+                T result = future.get();
+                results.set(region, result);
+                failed = !feasible.test(result);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                // the searches report no failures, so this is a bug in the solver itself
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,593 @@
+package backtracking;
+
+/**
+ * File: SafeConfig.java
+ */
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import model.Safe;
+import model.SegmentIndex;
+import java.util.Arrays;
+
+
+/**
+ * The class represents a single configuration of a safe.  It is
+ * used by the backtracker to generate successors, check for
+ * validity, and eventually find the goal.
+ *
+ * This class is given to you here, but it will undoubtedly need to
+ * communicate with the model.  You are free to move it into the model
+ * package and/or incorporate it into another class.
+ *
+ * @author Sean Strout @ RIT CS
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeConfig implements Configuration {
+
+    /** A representation of a safe */
+    private Safe safe;
+    /** Current row */
+    private int currentRow;
+    /** Current column */
+    private int currentColumn;
+    /** Order in which the cells are decided */
+    private CellOrder order;
+    /** Empty cells already decided, only kept for the MOST_CONSTRAINED order */
+    private boolean[] decided;
+    /** Keys of the Zobrist hash, shared by every configuration of the same size */
+    private ZobristKeys keys;
+    /** Zobrist hash of the pillars and the lasers on the board */
+    private long boardHash;
+    /** Decision that made this configuration, null if it made none */
+    private Move lastMove;
+
+    /**
+     * Constructor with a filename as a parameter
+     * @param filename - name of the file to read
+     * @throws FileNotFoundException
+     */
+    public SafeConfig(String filename) throws FileNotFoundException {
+        this(new Safe(filename));
+    }
+
+    /**
+     * Constructor with Safe as a parameter
+     * @param other - an instance of Safe
+     */
+    public SafeConfig(Safe other){
+        this(other, CellOrder.ROW_MAJOR);
+    }
+
+    /**
+     * Constructor with Safe and the order of the cells as parameters
+     * @param other - an instance of Safe
+     * @param order - order in which the cells are decided
+     */
+    public SafeConfig(Safe other, CellOrder order) {
+        safe = other;
+        currentColumn = -1;
+        currentRow = 0;
+        this.order = order;
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            decided = new boolean[other.getNumberOfRows() * other.getNumberOfColumns()];
+        }
+        keys = ZobristKeys.forCells(other.getNumberOfRows() * other.getNumberOfColumns());
+        boardHash = keys.pillars(other.getGrid());
+        for (int i = 0; i < other.getNumberOfRows(); i++) {
+            for (int j = 0; j < other.getNumberOfColumns(); j++) {
+                if (other.getGrid()[i][j] == Safe.LASER) {
+                    boardHash ^= keys.laser(i * other.getNumberOfColumns() + j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructor which makes a deep copy
+     * @param other - an instance of SafeConfig class
+     */
+    public SafeConfig(SafeConfig other)  {
+        this.safe = new Safe(other.safe);
+        this.currentRow = other.currentRow;
+        this.currentColumn = other.currentColumn;
+        this.order = other.order;
+        if (other.decided != null) {
+            this.decided = other.decided.clone();
+        }
+        this.keys = other.keys;
+        this.boardHash = other.boardHash;
+    }
+
+    @Override
+    public Collection<Configuration> getSuccessors() {
+        Collection<Configuration> successors = new ArrayList<Configuration>();
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            int cell = mostConstrainedCell();
+            if (cell >= 0) {
+                SafeConfig safeConfig2 = new SafeConfig(this);
+                safeConfig2.moveTo(cell);
+                safeConfig2.addLaser();
+                safeConfig2.lastMove = new Move(safeConfig2.currentRow, safeConfig2.currentColumn, true);
+                SafeConfig safeConfig1 = new SafeConfig(this);
+                safeConfig1.moveTo(cell);
+                safeConfig1.lastMove = new Move(safeConfig1.currentRow, safeConfig1.currentColumn, false);
+                successors.add(safeConfig2);
+                successors.add(safeConfig1);
+            }
+            return successors;
+        }
+        updateCurr();
+        char cell = safe.getGrid()[currentRow][currentColumn];
+        if (cell != Safe.X && cell != Safe.ONE && cell != Safe.TWO &&
+           cell != Safe.THREE && cell != Safe.FOUR && cell != Safe.ZERO && cell != Safe.LASER ) {
+            SafeConfig safeConfig1 = new SafeConfig(this);
+            if (safeConfig1.safe.getGrid()[safeConfig1.currentRow][safeConfig1.currentColumn] != Safe.LASER_BEAM) {
+                safeConfig1.safe.getGrid()[safeConfig1.currentRow][safeConfig1.currentColumn] = Safe.EMPTY;
+            }
+            safeConfig1.lastMove = new Move(currentRow, currentColumn, false);
+            SafeConfig safeConfig2 = new SafeConfig(this);
+            safeConfig2.addLaser();
+            safeConfig2.lastMove = new Move(currentRow, currentColumn, true);
+            successors.add(safeConfig2);
+            successors.add(safeConfig1);
+        } else {
+            SafeConfig safeConfig1 = new SafeConfig(this);
+            successors.add(safeConfig1);
+
+        }
+        return successors;
+    }
+
+    @Override
+    public boolean isValid() {
+        return pruneReason() == null;
+    }
+
+    /**
+     * @return the first rule the current decision breaks, or null if it breaks none
+     */
+    @Override
+    public PruneReason pruneReason() {
+        if (safe.getGrid()[currentRow][currentColumn] == Safe.LASER && !checkForLasers()) {
+            return PruneReason.LASER_CONFLICT;
+        }
+        // the current decision only affects the pillars next to it and the cells in its segments
+        if (!checkPillarsNearby()) {
+            return PruneReason.PILLAR_COUNT;
+        }
+        if (!checkForUncoverableCells()) {
+            return PruneReason.UNCOVERED_CELL;
+        }
+        // if we are at the last cell, check for empty cells and for every numbered pillar
+        if (allDecided()) {
+            return wholeSafeViolation();
+        }
+        return null;
+    }
+
+    /**
+     * Method checks the whole safe once every cell is decided
+     * @return true if no cell is empty, no laser sees another and every numbered pillar has its
+     * number of lasers
+     */
+    private boolean checkWholeSafe() {
+        return wholeSafeViolation() == null;
+    }
+
+    /**
+     * Method finds the first rule the whole safe breaks once every cell is decided
+     * @return UNCOVERED_CELL if a cell is empty, LASER_CONFLICT if a laser sees another,
+     * PILLAR_COUNT if a numbered pillar does not have its number of lasers, null if the safe
+     * is solved
+     */
+    private PruneReason wholeSafeViolation() {
+        PruneReason answer = null;
+        mainloop:
+        for (int i = 0; i < safe.getNumberOfRows(); i++) {
+            for (int j = 0; j < safe.getNumberOfColumns(); j++) {
+                char cell = safe.getGrid()[i][j];
+                if (cell == Safe.EMPTY) {
+                    // if we have an empty cell, the safe is not valid
+                    answer = PruneReason.UNCOVERED_CELL;
+                    break mainloop;
+                } else if (cell == Safe.LASER) {
+                    // lasers given in the safe are never the current cell, so check them all here
+                    if (safe.seesLaser(i, j)) {
+                        answer = PruneReason.LASER_CONFLICT;
+                        break mainloop;
+                    }
+                } else if (cell == Safe.ZERO || cell == Safe.ONE ||
+                        cell == Safe.TWO ||
+                        cell == Safe.THREE || cell == Safe.FOUR) {
+                    int numberOfLasersNearby = safe.numberOfLasersNearby(i,j);
+                    // if the cell is a numbered pillar, check for number of lasers nearby
+                    if (cell == Safe.ZERO) {
+                        if (numberOfLasersNearby != 0) {
+                            answer = PruneReason.PILLAR_COUNT;
+                            break mainloop;
+                        }
+                    }
+                    if (cell == Safe.ONE) {
+                        if (numberOfLasersNearby != 1) {
+                            answer = PruneReason.PILLAR_COUNT;
+                            break mainloop;
+                        }
+                    }
+                    if (cell == Safe.TWO) {
+                        if (numberOfLasersNearby != 2) {
+                            answer = PruneReason.PILLAR_COUNT;
+                            break mainloop;
+                        }
+                    }
+                    if (cell == Safe.THREE) {
+                        if (numberOfLasersNearby != 3) {
+                            answer = PruneReason.PILLAR_COUNT;
+                            break mainloop;
+                        }
+                    }
+                    if (cell == Safe.FOUR) {
+                        if (numberOfLasersNearby != 4) {
+                            answer = PruneReason.PILLAR_COUNT;
+                            break mainloop;
+                        }
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Method checks the numbered pillars next to the current cell. A pillar can still be
+     * satisfied if it has no more lasers than its number, and enough undecided empty
+     * neighbours (after the current cell in row-major order) to reach it.
+     * @return true if every pillar nearby can still be satisfied, false otherwise
+     */
+    private boolean checkPillarsNearby() {
+        return checkPillar(currentRow - 1, currentColumn) && checkPillar(currentRow + 1, currentColumn) &&
+                checkPillar(currentRow, currentColumn - 1) && checkPillar(currentRow, currentColumn + 1);
+    }
+
+    /**
+     * Method checks the bounds on the lasers around one numbered pillar
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return false if the cell is a numbered pillar that cannot be satisfied any more
+     */
+    private boolean checkPillar(int row, int column) {
+        if (row < 0 || column < 0 || row >= safe.getNumberOfRows() || column >= safe.getNumberOfColumns()) {
+            return true;
+        }
+        char cell = safe.getGrid()[row][column];
+        if (!Safe.isPillar(cell) || cell == Safe.X) {
+            return true;
+        }
+        int needed = cell - Safe.ZERO;
+        int lasers = safe.numberOfLasersNearby(row, column);
+        int undecided = countUndecided(row - 1, column) + countUndecided(row + 1, column) +
+                countUndecided(row, column - 1) + countUndecided(row, column + 1);
+        return lasers <= needed && needed <= lasers + undecided;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return 1 if the cell is empty and comes after the current cell, e.g. may still get a laser
+     */
+    private int countUndecided(int row, int column) {
+        if (row < 0 || column < 0 || row >= safe.getNumberOfRows() || column >= safe.getNumberOfColumns()) {
+            return 0;
+        }
+        return isUndecided(row, column) ? 1 : 0;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell is empty and not decided yet, e.g. may still get a laser
+     */
+    private boolean isUndecided(int row, int column) {
+        if (safe.getGrid()[row][column] != Safe.EMPTY) {
+            return false;
+        }
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            return !decided[row * safe.getNumberOfColumns() + column];
+        }
+        return row > currentRow || (row == currentRow && column > currentColumn);
+    }
+
+    /**
+     * Method checks that no empty cell was left behind that no laser can cover any more.
+     * An empty cell can only be covered by a laser placed later in its row or column
+     * segment, so when the current cell ends a segment, the empty cells of that segment
+     * need the other segment to go on past the current cell.
+     * @return true if every empty cell can still be covered, false otherwise
+     */
+    private boolean checkForUncoverableCells() {
+        char[][] grid = safe.getGrid();
+        if (Safe.isPillar(grid[currentRow][currentColumn])) {
+            return true;
+        }
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            return checkSegmentsCanBeCovered();
+        }
+        SegmentIndex segments = safe.getSegments();
+        int current = currentRow * safe.getNumberOfColumns() + currentColumn;
+        int horizontal = segments.horizontal(currentRow, currentColumn);
+        if (segments.horizontalEnd(horizontal) == current) {
+            int first = segments.horizontalStart(horizontal) % safe.getNumberOfColumns();
+            for (int j = first; j <= currentColumn; j++) {
+                if (grid[currentRow][j] == Safe.EMPTY &&
+                        segments.verticalEnd(segments.vertical(currentRow, j)) <= current) {
+                    return false;
+                }
+            }
+        }
+        int vertical = segments.vertical(currentRow, currentColumn);
+        if (segments.verticalEnd(vertical) == current) {
+            int first = segments.verticalStart(vertical) / safe.getNumberOfColumns();
+            for (int i = first; i <= currentRow; i++) {
+                if (grid[i][currentColumn] == Safe.EMPTY &&
+                        segments.horizontalEnd(segments.horizontal(i, currentColumn)) <= current) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method checks, for any order of the cells, that every empty cell in the segments of the
+     * current cell still has an undecided cell in its own segments that could cover it.
+     * @return true if every such cell can still be covered, false otherwise
+     */
+    private boolean checkSegmentsCanBeCovered() {
+        SegmentIndex segments = safe.getSegments();
+        int columns = safe.getNumberOfColumns();
+        int horizontal = segments.horizontal(currentRow, currentColumn);
+        for (int i = segments.horizontalStart(horizontal); i <= segments.horizontalEnd(horizontal); i++) {
+            if (safe.getGrid()[currentRow][i % columns] == Safe.EMPTY && countCandidates(i, 1) == 0) {
+                return false;
+            }
+        }
+        int vertical = segments.vertical(currentRow, currentColumn);
+        for (int i = segments.verticalStart(vertical); i <= segments.verticalEnd(vertical); i += columns) {
+            if (safe.getGrid()[i / columns][currentColumn] == Safe.EMPTY && countCandidates(i, 1) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the undecided cells that could still cover an empty cell, e.g. the undecided
+     * cells of its row and column segments.
+     * @param cell - row-major index of the empty cell
+     * @param limit - counting stops once this many are found
+     * @return number of candidates, at most limit
+     */
+    private int countCandidates(int cell, int limit) {
+        SegmentIndex segments = safe.getSegments();
+        int columns = safe.getNumberOfColumns();
+        int candidates = 0;
+        int horizontal = segments.horizontalOf(cell);
+        for (int i = segments.horizontalStart(horizontal); i <= segments.horizontalEnd(horizontal) &&
+                candidates < limit; i++) {
+            if (isUndecided(i / columns, i % columns)) {
+                candidates++;
+            }
+        }
+        int vertical = segments.verticalOf(cell);
+        for (int i = segments.verticalStart(vertical); i <= segments.verticalEnd(vertical) &&
+                candidates < limit; i += columns) {
+            if (i != cell && isUndecided(i / columns, i % columns)) {
+                candidates++;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Picks the undecided cell with the fewest remaining options. A cell next to a numbered
+     * pillar has as many options as the pillar has slack, e.g. the smaller of the lasers it
+     * still needs and the undecided neighbours it can leave empty. A cell in the segments of
+     * an empty cell has as many options as that empty cell has other candidates. Ties go to
+     * the first cell in row-major order.
+     * @return index of the cell, or -1 if every cell is decided
+     */
+    private int mostConstrainedCell() {
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        int[] candidates = new int[rows * columns];
+        for (int cell = 0; cell < candidates.length; cell++) {
+            if (safe.getGrid()[cell / columns][cell % columns] == Safe.EMPTY) {
+                candidates[cell] = countCandidates(cell, Integer.MAX_VALUE);
+            }
+        }
+        SegmentIndex segments = safe.getSegments();
+        int best = -1;
+        int bestOptions = Integer.MAX_VALUE;
+        for (int cell = 0; cell < candidates.length && bestOptions > 0; cell++) {
+            int row = cell / columns;
+            int column = cell % columns;
+            if (!isUndecided(row, column)) {
+                continue;
+            }
+            int options = Math.min(Math.min(pillarSlack(row - 1, column), pillarSlack(row + 1, column)),
+                    Math.min(pillarSlack(row, column - 1), pillarSlack(row, column + 1)));
+            int horizontal = segments.horizontalOf(cell);
+            for (int i = segments.horizontalStart(horizontal); i <= segments.horizontalEnd(horizontal); i++) {
+                if (candidates[i] > 0) {
+                    options = Math.min(options, candidates[i] - 1);
+                }
+            }
+            int vertical = segments.verticalOf(cell);
+            for (int i = segments.verticalStart(vertical); i <= segments.verticalEnd(vertical); i += columns) {
+                if (candidates[i] > 0) {
+                    options = Math.min(options, candidates[i] - 1);
+                }
+            }
+            if (options < bestOptions) {
+                best = cell;
+                bestOptions = options;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return how far a numbered pillar is from being forced, Integer.MAX_VALUE for other cells
+     */
+    private int pillarSlack(int row, int column) {
+        if (row < 0 || column < 0 || row >= safe.getNumberOfRows() || column >= safe.getNumberOfColumns()) {
+            return Integer.MAX_VALUE;
+        }
+        char cell = safe.getGrid()[row][column];
+        if (!Safe.isPillar(cell) || cell == Safe.X) {
+            return Integer.MAX_VALUE;
+        }
+        int missing = cell - Safe.ZERO - safe.numberOfLasersNearby(row, column);
+        int undecided = countUndecided(row - 1, column) + countUndecided(row + 1, column) +
+                countUndecided(row, column - 1) + countUndecided(row, column + 1);
+        return Math.max(0, Math.min(missing, undecided - missing));
+    }
+
+    /**
+     * Places a laser on the current cell and adds it to the hash
+     */
+    private void addLaser() {
+        safe.Add(currentRow, currentColumn);
+        boardHash ^= keys.laser(currentRow * safe.getNumberOfColumns() + currentColumn);
+    }
+
+    /**
+     * Makes a cell the current one and marks it as decided
+     * @param cell - row-major index of the cell
+     */
+    private void moveTo(int cell) {
+        currentRow = cell / safe.getNumberOfColumns();
+        currentColumn = cell % safe.getNumberOfColumns();
+        decided[cell] = true;
+    }
+
+    /**
+     * @return true if no cell is left to decide
+     */
+    private boolean allDecided() {
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            for (int i = 0; i < safe.getNumberOfRows(); i++) {
+                for (int j = 0; j < safe.getNumberOfColumns(); j++) {
+                    if (isUndecided(i, j)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return currentRow == safe.getNumberOfRows() - 1 && currentColumn == safe.getNumberOfColumns() - 1;
+    }
+
+    /**
+     * Method checks whether there are other lasers near current laser (in the same row and column
+     * but before pillars)
+     * @return true if there are no lasers nearby, false otherwise
+     */
+    private boolean checkForLasers () {
+        return !safe.seesLaser(currentRow, currentColumn);
+    }
+
+    @Override
+    public boolean isGoal() {
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            return allDecided() && checkWholeSafe();
+        }
+        return (currentRow == safe.getNumberOfRows() - 1 && currentColumn == safe.getNumberOfColumns() -1);
+    }
+
+    /**
+     * Updates current row and column
+     */
+    private void updateCurr() {
+        if (this.currentColumn == safe.getNumberOfColumns() - 1) {
+            this.currentColumn = 0;
+            this.currentRow += 1;
+        } else {
+            this.currentColumn += 1;
+        }
+    }
+
+    /**
+     * @return String representation of our SafeConfig
+     */
+    public String toString() {
+        return safe.toString();
+    }
+
+    /**
+     * Two SafeConfigs are equal if they have the same grids
+     * @param obj - object to compare with
+     * @return true if objects are equal
+     */
+    public boolean equals(Object obj) {
+        if (obj instanceof SafeConfig) {
+            SafeConfig object = (SafeConfig)obj;
+            for(int i = 0; i < this.safe.getNumberOfRows(); i++) {
+                if (!Arrays.equals(object.safe.getGrid()[i],safe.getGrid()[i])) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return false;
+
+        }
+    }
+
+    /**
+     * The hash only covers the pillars and the lasers, since the beams follow from them
+     * @return hash code of the grid
+     */
+    public int hashCode() {
+        return (int) (boardHash ^ (boardHash >>> 32));
+    }
+
+    /**
+     * The subtree depends on the board and on which empty cells are decided: in row-major
+     * order that is every cell up to the current one, otherwise the decided cells that
+     * are still empty. A decided cell lit later on is a beam like any other, so it is left
+     * out, and boards reached in different orders get the same key.
+     * @return Zobrist hash of the board and the cursor
+     */
+    @Override
+    public long stateKey() {
+        if (order == CellOrder.MOST_CONSTRAINED) {
+            long key = boardHash;
+            for (int cell = 0; cell < decided.length; cell++) {
+                if (decided[cell] &&
+                        safe.getGrid()[cell / safe.getNumberOfColumns()][cell % safe.getNumberOfColumns()] == Safe.EMPTY) {
+                    key ^= keys.none(cell);
+                }
+            }
+            return key;
+        }
+        return boardHash ^ keys.cursor(currentRow * safe.getNumberOfColumns() + currentColumn);
+    }
+
+    @Override
+    public Move lastMove() {
+        return lastMove;
+    }
+
+    /**
+     * @return instance of a Safe class
+     */
+    public Safe getSafe(){
+        return safe;
+    }
+
+}
@@ -0,0 +1,84 @@
+package backtracking;
+
+/**
+ * File: SafeConverter.java
+ */
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import model.BinarySafeWriter;
+import model.Safe;
+
+/**
+ * Converts text safe files to the binary .safe format. The safes are given
+ * like for BatchSolver, as a directory or a manifest. Every safe is written
+ * next to its text file, or into the target directory, with its extension
+ * replaced by .safe. Files that do not hold a safe, like the command files
+ * in tests/, are reported and skipped.
+ *
+ * With --solve, every safe is solved with PropagatingSafeConfig first and
+ * its solution is stored in the file as well.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeConverter {
+    public static void main(String[] args) throws IOException {
+        boolean solve = args.length > 0 && args[0].equals("--solve");
+        int first = solve ? 1 : 0;
+        if (args.length - first < 1 || args.length - first > 2) {
+            System.out.println("Usage: java SafeConverter [--solve] safes-directory|manifest [target-directory]");
+            return;
+        }
+        Path target = args.length - first > 1 ? Paths.get(args[first + 1]) : null;
+        if (target != null) {
+            Files.createDirectories(target);
+        }
+
+        List<Path> sources = BatchSolver.listSafes(Paths.get(args[first]));
+        int converted = 0;
+        long textBytes = 0;
+        long binaryBytes = 0;
+        for (Path source : sources) {
+            Safe safe;
+            try {
+                safe = new Safe(source.toFile());
+            } catch (FileNotFoundException | RuntimeException e) {
+                System.out.println("Skipped " + source + ": " + e.getMessage());
+                continue;
+            }
+            Safe solution = null;
+            if (solve) {
+                Optional<Configuration> sol = new Backtracker(false).solve(new PropagatingSafeConfig(safe));
+                if (sol.isPresent()) {
+                    solution = ((PropagatingSafeConfig) sol.get()).getSafe();
+                } else {
+                    System.out.println(source + " has no solution, none is stored");
+                }
+            }
+            Path output = (target != null ? target : source.toAbsolutePath().getParent()).resolve(binaryName(source));
+            BinarySafeWriter.write(safe, solution, output.toFile());
+            converted++;
+            textBytes += Files.size(source);
+            binaryBytes += Files.size(output);
+            System.out.println(source + " -> " + output);
+        }
+        System.out.println(converted + " safes converted, " + textBytes + " bytes as text, " + binaryBytes +
+                " bytes as .safe");
+    }
+
+    /**
+     * @param source - a text safe file
+     * @return the name of its binary file
+     */
+    private static String binaryName(Path source) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name) + ".safe";
+    }
+}
@@ -0,0 +1,275 @@
+package backtracking;
+
+/**
+ * File: SafeEncoder.java
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import model.Safe;
+import model.SegmentIndex;
+
+/**
+ * Encodes a safe as clauses for the SatSolver, and decodes what the solver
+ * finds back into a solved safe.
+ *
+ * Every open cell gets a variable, true when it holds a laser. The clauses say:
+ * - at most one laser per open segment, as two lasers in a segment see each other;
+ * - every open cell is covered, e.g. some cell of its horizontal or its vertical
+ *   segment holds a laser;
+ * - every numbered pillar has exactly its number of lasers next to it.
+ * Lasers already in the safe become unit clauses.
+ *
+ * A segment of a few cells forbids every pair of lasers in it, a longer one
+ * uses a sequential counter with one extra variable per cell so the clauses
+ * stay linear in its length. A pillar has at most four neighbours, so its
+ * count is forbidden directly: every number+1 of them cannot all hold lasers,
+ * and every (neighbours-number+1) of them cannot all be empty.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeEncoder {
+
+    /** Longest segment whose pairs of cells are forbidden one by one */
+    private static final int PAIRWISE_LIMIT = 6;
+
+    /** The safe, as it was encoded */
+    private final Safe safe;
+    /** The solver holding the clauses */
+    private final SatSolver solver;
+    /** Variable of every cell, in row-major order, 0 for pillars */
+    private final int[] variables;
+
+    /**
+     * Encodes a safe into a new solver.
+     * @param safe - the safe to solve, left unchanged
+     */
+    public SafeEncoder(Safe safe) {
+        this(safe, new SatSolver());
+    }
+
+    /**
+     * Encodes a safe into a solver.
+     * @param safe - the safe to solve, left unchanged
+     * @param solver - the solver, more clauses may be added to it afterwards
+     */
+    public SafeEncoder(Safe safe, SatSolver solver) {
+        this.safe = safe;
+        this.solver = solver;
+        char[][] grid = safe.getGrid();
+        int columns = safe.getNumberOfColumns();
+        variables = new int[safe.getNumberOfRows() * columns];
+        for (int i = 0; i < safe.getNumberOfRows(); i++) {
+            for (int j = 0; j < columns; j++) {
+                if (!Safe.isPillar(grid[i][j])) {
+                    variables[i * columns + j] = solver.newVariable();
+                    if (grid[i][j] == Safe.LASER) {
+                        solver.addClause(variables[i * columns + j]);
+                    }
+                }
+            }
+        }
+        encodeSegments();
+        encodeCoverage();
+        encodePillars();
+    }
+
+    /**
+     * @return the solver holding the clauses
+     */
+    public SatSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * @param row - row of an open cell
+     * @param column - column of that cell
+     * @return its variable, true when it holds a laser; 0 for a pillar
+     */
+    public int variable(int row, int column) {
+        return variables[row * safe.getNumberOfColumns() + column];
+    }
+
+    /**
+     * Solves the clauses and decodes the result.
+     * @return the solved safe, or null if it has no solution
+     */
+    public Safe solve() {
+        return solver.solve() ? decode() : null;
+    }
+
+    /**
+     * Builds the safe the solver found, once solve returned true.
+     * @return a copy of the safe with a laser on every true variable
+     */
+    public Safe decode() {
+        Safe solved = new Safe(safe);
+        char[][] grid = safe.getGrid();
+        int columns = safe.getNumberOfColumns();
+        for (int i = 0; i < safe.getNumberOfRows(); i++) {
+            for (int j = 0; j < columns; j++) {
+                int variable = variables[i * columns + j];
+                if (variable != 0 && grid[i][j] != Safe.LASER && solver.value(variable)) {
+                    solved.Add(i, j);
+                }
+            }
+        }
+        return solved;
+    }
+
+    /**
+     * At most one laser in every horizontal and every vertical segment.
+     */
+    private void encodeSegments() {
+        SegmentIndex segments = safe.getSegments();
+        int columns = safe.getNumberOfColumns();
+        for (int s = 0; s < segments.numberOfHorizontal(); s++) {
+            atMostOne(cells(segments.horizontalStart(s), segments.horizontalEnd(s), 1));
+        }
+        for (int s = 0; s < segments.numberOfVertical(); s++) {
+            atMostOne(cells(segments.verticalStart(s), segments.verticalEnd(s), columns));
+        }
+    }
+
+    /**
+     * Some laser in the horizontal or the vertical segment of every open cell.
+     */
+    private void encodeCoverage() {
+        SegmentIndex segments = safe.getSegments();
+        int columns = safe.getNumberOfColumns();
+        for (int index = 0; index < variables.length; index++) {
+            if (variables[index] == 0) {
+                continue;
+            }
+            int horizontal = segments.horizontalOf(index);
+            int vertical = segments.verticalOf(index);
+            List<Integer> row = cells(segments.horizontalStart(horizontal), segments.horizontalEnd(horizontal), 1);
+            List<Integer> column = cells(segments.verticalStart(vertical), segments.verticalEnd(vertical), columns);
+            // the cell itself is in both segments
+            column.remove(Integer.valueOf(variables[index]));
+            row.addAll(column);
+            solver.addClause(toArray(row));
+        }
+    }
+
+    /**
+     * Exactly its number of lasers next to every numbered pillar.
+     */
+    private void encodePillars() {
+        char[][] grid = safe.getGrid();
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (grid[i][j] < Safe.ZERO || grid[i][j] > Safe.FOUR) {
+                    continue;
+                }
+                List<Integer> neighbours = new ArrayList<Integer>();
+                for (int[] d : directions) {
+                    int r = i + d[0];
+                    int c = j + d[1];
+                    if (r >= 0 && r < rows && c >= 0 && c < columns && variables[r * columns + c] != 0) {
+                        neighbours.add(variables[r * columns + c]);
+                    }
+                }
+                exactly(neighbours, grid[i][j] - Safe.ZERO);
+            }
+        }
+    }
+
+    /**
+     * @param first - first cell of a segment
+     * @param last - last cell of the segment
+     * @param step - distance between two cells of the segment
+     * @return the variables of the segment
+     */
+    private List<Integer> cells(int first, int last, int step) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int index = first; index <= last; index += step) {
+            result.add(variables[index]);
+        }
+        return result;
+    }
+
+    /**
+     * At most one of some variables is true.
+     * @param literals - the variables
+     */
+    private void atMostOne(List<Integer> literals) {
+        int n = literals.size();
+        if (n <= PAIRWISE_LIMIT) {
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    solver.addClause(-literals.get(a), -literals.get(b));
+                }
+            }
+            return;
+        }
+        // counter[k] is true once one of the first k+1 variables is true
+        int previous = solver.newVariable();
+        solver.addClause(-literals.get(0), previous);
+        for (int k = 1; k < n - 1; k++) {
+            int counter = solver.newVariable();
+            solver.addClause(-literals.get(k), counter);
+            solver.addClause(-previous, counter);
+            solver.addClause(-literals.get(k), -previous);
+            previous = counter;
+        }
+        solver.addClause(-literals.get(n - 1), -previous);
+    }
+
+    /**
+     * Exactly some of a few variables are true.
+     * @param literals - the variables, at most four
+     * @param count - how many of them are true
+     */
+    private void exactly(List<Integer> literals, int count) {
+        int n = literals.size();
+        if (count > n) {
+            // the pillar can never be satisfied
+            solver.addClause();
+            return;
+        }
+        // no count+1 of them are all true, no n-count+1 of them are all false
+        for (int mask = 0; mask < 1 << n; mask++) {
+            int size = Integer.bitCount(mask);
+            if (size == count + 1) {
+                solver.addClause(subset(literals, mask, -1));
+            }
+            if (size == n - count + 1) {
+                solver.addClause(subset(literals, mask, 1));
+            }
+        }
+    }
+
+    /**
+     * @param literals - some variables
+     * @param mask - which of them to take, bit b for the b-th
+     * @param sign - 1 to take them as they are, -1 to take their negations
+     * @return the clause of the variables taken
+     */
+    private static int[] subset(List<Integer> literals, int mask, int sign) {
+        int[] clause = new int[Integer.bitCount(mask)];
+        int k = 0;
+        for (int b = 0; b < literals.size(); b++) {
+            if ((mask & 1 << b) != 0) {
+                clause[k++] = sign * literals.get(b);
+            }
+        }
+        return clause;
+    }
+
+    /**
+     * @param literals - some literals
+     * @return them as an array
+     */
+    private static int[] toArray(List<Integer> literals) {
+        int[] result = new int[literals.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = literals.get(i);
+        }
+        return result;
+    }
+}
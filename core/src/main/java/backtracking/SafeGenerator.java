@@ -0,0 +1,370 @@
+package backtracking;
+
+/**
+ * File: SafeGenerator.java
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import model.Safe;
+import model.SafeRegions;
+
+/**
+ * Generates new safes with exactly one solution.
+ *
+ * Pillars are spread at random and lasers are placed greedily, in a random
+ * order, until every open cell is lit. That is the solution: every pillar is
+ * numbered with the lasers around it. While the numbers still allow another
+ * solution, a pillar is added where that other solution has a laser, and
+ * the cells it leaves dark are lit again; a layout that cannot be repaired
+ * this way is thrown away and a new one is tried. Then clues are
+ * taken away, in a random order: a numbered pillar becomes an X and stays
+ * one only while the solution is still unique. The harder the safe, the more
+ * of the clues are tried.
+ *
+ * Taking a clue away can only split regions (see SafeRegions), never join
+ * them, so only the regions around the pillar are counted again, each with
+ * Backtracker.hasUniqueSolution on PropagatingSafeConfig.
+ *
+ * The safes are written in the text format Safe reads, one per file. Every
+ * safe comes from its own seed, derived from the seed of the run, so a run
+ * gives the same safes on any number of threads.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeGenerator {
+
+    /**
+     * How many of the clues are tried for removal.
+     */
+    public enum Difficulty {
+        EASY(0.25), MEDIUM(0.6), HARD(1.0);
+
+        /** Share of the clues tried */
+        private final double removals;
+
+        Difficulty(double removals) {
+            this.removals = removals;
+        }
+    }
+
+    /** Share of the cells that are pillars */
+    private static final double PILLARS = 0.2;
+
+    /** Number of rows of the safes */
+    private final int numberOfRows;
+    /** Number of columns of the safes */
+    private final int numberOfColumns;
+    /** How many clues are tried for removal */
+    private final Difficulty difficulty;
+    /** Layouts tried since the generator was created, the discarded ones included */
+    private final LongAdder layouts = new LongAdder();
+
+    /**
+     * Initialize a new generator.
+     *
+     * @param numberOfRows rows of the safes
+     * @param numberOfColumns columns of the safes
+     * @param difficulty how many clues are tried for removal
+     */
+    public SafeGenerator(int numberOfRows, int numberOfColumns, Difficulty difficulty) {
+        if (numberOfRows < 1 || numberOfColumns < 1) {
+            throw new IllegalArgumentException("A safe needs at least one row and one column");
+        }
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.difficulty = difficulty;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3 || args.length > 6) {
+            System.out.println("Usage: java SafeGenerator size count target-directory " +
+                    "[easy|medium|hard] [threads] [seed]");
+            return;
+        }
+        int size = Integer.parseInt(args[0]);
+        int count = Integer.parseInt(args[1]);
+        Path target = Paths.get(args[2]);
+        Difficulty difficulty = args.length > 3 ?
+                Difficulty.valueOf(args[3].toUpperCase(Locale.ROOT)) : Difficulty.MEDIUM;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        Files.createDirectories(target);
+
+        SafeGenerator generator = new SafeGenerator(size, size, difficulty);
+        String prefix = "gen-" + size + "-" + difficulty.name().toLowerCase(Locale.ROOT) + "-";
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Path>> futures = new ArrayList<Future<Path>>(count);
+        for (int i = 0; i < count; i++) {
+            long puzzleSeed = seed + i;
+            Path file = target.resolve(String.format("%s%05d.txt", prefix, i));
+            futures.add(pool.submit(() -> {
+                write(generator.generate(new Random(puzzleSeed)), file);
+                return file;
+            }));
+        }
+        for (Future<Path> future : futures) {
+            try {
+                System.out.println(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        pool.shutdown();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.println(count + " safes in " + elapsed + " seconds, " + count / elapsed +
+                " safes/second, " + generator.getLayouts() + " layouts tried, seed " + seed);
+    }
+
+    /**
+     * Generates a safe with exactly one solution.
+     *
+     * @param random where the layout and the order of the clues come from
+     * @return the safe, without its lasers
+     */
+    public Safe generate(Random random) {
+        while (true) {
+            layouts.increment();
+            char[][] grid = new char[numberOfRows][numberOfColumns];
+            for (int i = 0; i < numberOfRows; i++) {
+                for (int j = 0; j < numberOfColumns; j++) {
+                    grid[i][j] = random.nextDouble() < PILLARS ? Safe.X : Safe.EMPTY;
+                }
+            }
+            if (makeUnique(grid, light(grid, null, random), random)) {
+                removeClues(grid, random);
+                return new Safe(grid);
+            }
+        }
+    }
+
+    /**
+     * @return number of layouts tried since the generator was created, the
+     * ones thrown away included
+     */
+    public long getLayouts() {
+        return layouts.sum();
+    }
+
+    /**
+     * Numbers the pillars after a solution, then adds pillars until no other
+     * solution is left. Every added pillar goes where another solution has a
+     * laser and this one has none, so that other solution is gone; the cells
+     * it leaves dark are lit again greedily.
+     *
+     * @param grid the layout, numbered in place
+     * @param solution lasers lighting the layout
+     * @param random where the added pillars come from
+     * @return true if the layout has one solution, false if it is to be thrown away
+     */
+    private boolean makeUnique(char[][] grid, Safe solution, Random random) {
+        int repairs = numberOfRows * numberOfColumns / 8 + 1;
+        // a repair only changes the regions around the new pillar, the others need no new count
+        Set<String> counted = new HashSet<String>();
+        for (int repair = 0; repair <= repairs; repair++) {
+            for (int i = 0; i < numberOfRows; i++) {
+                for (int j = 0; j < numberOfColumns; j++) {
+                    if (Safe.isPillar(grid[i][j])) {
+                        grid[i][j] = (char) (Safe.ZERO + solution.numberOfLasersNearby(i, j));
+                    }
+                }
+            }
+            SafeRegions regions = new SafeRegions(new Safe(grid));
+            int[] pillar = null;
+            boolean unique = true;
+            for (int region = 0; region < regions.getNumberOfRegions() && unique; region++) {
+                Safe part = regions.extract(region);
+                String key = regions.getTop(region) + "," + regions.getLeft(region) + Arrays.deepToString(part.getGrid());
+                if (counted.contains(key)) {
+                    continue;
+                }
+                if (new Backtracker(false).hasUniqueSolution(new PropagatingSafeConfig(part))) {
+                    counted.add(key);
+                } else {
+                    unique = false;
+                    pillar = newPillar(regions, region, solution, random);
+                }
+            }
+            if (unique) {
+                return true;
+            }
+            if (pillar == null) {
+                return false;
+            }
+            grid[pillar[0]][pillar[1]] = Safe.X;
+            solution = light(grid, solution, random);
+        }
+        return false;
+    }
+
+    /**
+     * Picks where a pillar rules out the other solutions of a region.
+     *
+     * @param regions the regions of the safe
+     * @param region a region with more than one solution
+     * @param solution the solution kept
+     * @param random where the pillar comes from
+     * @return a cell of the region, or null if none fits
+     */
+    private int[] newPillar(SafeRegions regions, int region, Safe solution, Random random) {
+        int top = regions.getTop(region);
+        int left = regions.getLeft(region);
+        char[][] kept = solution.getGrid();
+        Iterator<Configuration> solutions = new Backtracker(false)
+                .solveAll(new PropagatingSafeConfig(regions.extract(region))).limit(2).iterator();
+        List<int[]> lasers = new ArrayList<int[]>();
+        List<int[]> missing = new ArrayList<int[]>();
+        while (solutions.hasNext()) {
+            char[][] other = ((PropagatingSafeConfig) solutions.next()).getSafe().getGrid();
+            for (int i = 0; i < other.length; i++) {
+                for (int j = 0; j < other[i].length; j++) {
+                    boolean laser = other[i][j] == Safe.LASER;
+                    if (laser != (kept[top + i][left + j] == Safe.LASER)) {
+                        (laser ? lasers : missing).add(new int[]{top + i, left + j});
+                    }
+                }
+            }
+        }
+        if (lasers.isEmpty()) {
+            // the other solution only leaves lasers out: a pillar next to one tells them apart
+            for (int[] cell : missing) {
+                int[][] neighbours = {{cell[0] - 1, cell[1]}, {cell[0] + 1, cell[1]},
+                        {cell[0], cell[1] - 1}, {cell[0], cell[1] + 1}};
+                for (int[] next : neighbours) {
+                    if (next[0] >= 0 && next[0] < numberOfRows && next[1] >= 0 && next[1] < numberOfColumns &&
+                            !Safe.isPillar(kept[next[0]][next[1]]) && kept[next[0]][next[1]] != Safe.LASER) {
+                        lasers.add(next);
+                    }
+                }
+            }
+        }
+        return lasers.isEmpty() ? null : lasers.get(random.nextInt(lasers.size()));
+    }
+
+    /**
+     * Lights a layout greedily, trying the dark cells in a random order.
+     *
+     * @param grid the layout
+     * @param previous lasers to keep where their cells are still open, or null
+     * @param random where the order comes from
+     * @return the layout with its lasers
+     */
+    private Safe light(char[][] grid, Safe previous, Random random) {
+        char[][] cells = new char[numberOfRows][numberOfColumns];
+        List<int[]> open = new ArrayList<int[]>();
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                if (Safe.isPillar(grid[i][j])) {
+                    cells[i][j] = grid[i][j];
+                } else {
+                    boolean laser = previous != null && previous.getGrid()[i][j] == Safe.LASER;
+                    cells[i][j] = laser ? Safe.LASER : Safe.EMPTY;
+                    open.add(new int[]{i, j});
+                }
+            }
+        }
+        // a pillar only splits segments, so the lasers kept still do not see each other
+        Safe solution = new Safe(cells);
+        Collections.shuffle(open, random);
+        for (int[] cell : open) {
+            if (solution.getGrid()[cell[0]][cell[1]] == Safe.EMPTY) {
+                solution.Add(cell[0], cell[1]);
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Takes clues away in a random order, as long as the solution stays unique.
+     *
+     * @param grid the numbered layout, changed in place
+     * @param random where the order comes from
+     */
+    private void removeClues(char[][] grid, Random random) {
+        List<int[]> clues = new ArrayList<int[]>();
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                if (grid[i][j] != Safe.X && Safe.isPillar(grid[i][j])) {
+                    clues.add(new int[]{i, j});
+                }
+            }
+        }
+        Collections.shuffle(clues, random);
+        int tries = (int) Math.round(difficulty.removals * clues.size());
+        for (int[] clue : clues.subList(0, tries)) {
+            char number = grid[clue[0]][clue[1]];
+            grid[clue[0]][clue[1]] = Safe.X;
+            if (!isUnique(new SafeRegions(new Safe(grid)), clue)) {
+                grid[clue[0]][clue[1]] = number;
+            }
+        }
+    }
+
+    /**
+     * Checks that the regions next to a pillar have exactly one solution each.
+     * The regions elsewhere are left as they were.
+     *
+     * @param regions the regions of the safe
+     * @param pillar a pillar whose clue was just taken away
+     * @return true if the regions next to it have one solution each
+     */
+    private boolean isUnique(SafeRegions regions, int[] pillar) {
+        List<Integer> checked = new ArrayList<Integer>();
+        int[][] neighbours = {{pillar[0] - 1, pillar[1]}, {pillar[0] + 1, pillar[1]},
+                {pillar[0], pillar[1] - 1}, {pillar[0], pillar[1] + 1}};
+        for (int[] cell : neighbours) {
+            if (cell[0] >= 0 && cell[0] < numberOfRows && cell[1] >= 0 && cell[1] < numberOfColumns) {
+                int region = regions.getRegion(cell[0], cell[1]);
+                if (region >= 0 && !checked.contains(region)) {
+                    checked.add(region);
+                }
+            }
+        }
+        for (int region : checked) {
+            if (!new Backtracker(false).hasUniqueSolution(new PropagatingSafeConfig(regions.extract(region)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a safe in the text format Safe reads.
+     *
+     * @param safe the safe
+     * @param file where it goes
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Safe safe, Path file) throws IOException {
+        char[][] grid = safe.getGrid();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(safe.getNumberOfRows() + " " + safe.getNumberOfColumns() + "\n");
+            for (char[] row : grid) {
+                for (int j = 0; j < row.length; j++) {
+                    out.write(row[j]);
+                    out.write(j < row.length - 1 ? ' ' : '\n');
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package backtracking;
+
+import java.io.FileNotFoundException;
+import java.math.BigInteger;
+import java.util.Optional;
+import javax.management.JMException;
+import model.Safe;
+import model.SafeRegions;
+
+/**
+ * Thie is the main class for a safe solver.  It runs the backtracking
+ * algorithm and displays the solution, if one exists.
+ *
+ * The optional engine argument picks how the safe is searched:
+ * plain (SafeConfig, the default), mcv (SafeConfig deciding the most
+ * constrained cell first), bits (BitSafeConfig), inplace
+ * (InPlaceBacktracker), propagate (PropagatingSafeConfig) or parallel
+ * (SafeConfig searched by a ParallelBacktracker on every core). The
+ * compare engine runs SafeConfig in both cell orders and prints how
+ * many configurations each explored, and the count engine counts every
+ * solution of the safe with PropagatingSafeConfig. The sat engine does
+ * not backtrack over configurations at all: it encodes the safe as
+ * clauses with SafeEncoder and hands them to the SatSolver.
+ *
+ * The regions engine splits the safe into the regions its pillars cut it
+ * into (see SafeRegions) and solves them in parallel with a RegionSolver,
+ * and count-regions counts the solutions of every region and multiplies
+ * the counts.
+ *
+ * The engines that run on Backtracker also print statistics of the
+ * search: successors found valid and invalid, why the invalid ones
+ * were pruned, and the time spent at every depth. While the search
+ * runs, they can be watched over JMX as
+ * backtracking:type=SearchStats,name="SafeSolver".
+ *
+ * @author Sean Strout @ RIT CS
+ */
+public class SafeSolver {
+    public static void main(String[] args) throws FileNotFoundException, JMException {
+        String engine = args.length == 3 ? args[2] : "plain";
+        if (args.length < 2 || args.length > 3 ||
+                !(engine.equals("plain") || engine.equals("mcv") || engine.equals("bits") ||
+                        engine.equals("inplace") || engine.equals("propagate") || engine.equals("parallel") ||
+                        engine.equals("compare") || engine.equals("count") || engine.equals("sat") ||
+                        engine.equals("regions") || engine.equals("count-regions"))) {
+            System.out.println("Usage: java SafeSolver safe.in debug " +
+                    "[plain|mcv|bits|inplace|propagate|parallel|compare|count|sat|regions|count-regions]");
+        } else if (engine.equals("compare")) {
+            for (CellOrder order : CellOrder.values()) {
+                Backtracker bt = new Backtracker(args[1].equals("true"));
+                double start = System.currentTimeMillis();
+                Optional<Configuration> sol = bt.solve(new SafeConfig(new Safe(args[0]), order));
+                System.out.println(order + ": " + bt.getNodesExplored() + " nodes, " +
+                        (System.currentTimeMillis() - start)/1000.0 + " seconds, " +
+                        (sol.isPresent() ? "solved" : "no solution"));
+            }
+        } else if (engine.equals("count")) {
+            SearchStats stats = new SearchStats();
+            stats.register("SafeSolver");
+            Backtracker bt = new Backtracker(args[1].equals("true"), null, stats);
+            double start = System.currentTimeMillis();
+            long solutions = bt.countSolutions(new PropagatingSafeConfig(args[0]), Long.MAX_VALUE);
+            System.out.println("Elapsed time: " +
+                    (System.currentTimeMillis() - start)/1000.0 + " seconds.");
+            System.out.println("Nodes explored: " + bt.getNodesExplored());
+            System.out.println("Solutions: " + solutions + (solutions == 1 ? " (unique)" : ""));
+            System.out.println(stats.summary());
+        } else if (engine.equals("count-regions")) {
+            Safe safe = new Safe(args[0]);
+            RegionSolver regions = new RegionSolver();
+            double start = System.currentTimeMillis();
+            BigInteger solutions = regions.countSolutions(safe);
+            regions.shutdown();
+            System.out.println("Elapsed time: " +
+                    (System.currentTimeMillis() - start)/1000.0 + " seconds.");
+            System.out.println("Regions: " + new SafeRegions(safe).getNumberOfRegions());
+            System.out.println("Nodes explored: " + regions.getNodesExplored());
+            System.out.println("Solutions: " + solutions + (solutions.equals(BigInteger.ONE) ? " (unique)" : ""));
+        } else {
+            // create the backtracker with the debug flag, counting what it does
+            boolean debug = args[1].equals("true");
+            SearchStats stats = new SearchStats();
+            stats.register("SafeSolver");
+            Backtracker bt = new Backtracker(debug, null, stats);
+
+            // start the clock
+            double start = System.currentTimeMillis();
+
+            // attempt to solve the puzzle with the chosen engine
+            Optional<?> sol;
+            long nodes;
+            if (engine.equals("inplace")) {
+                InPlaceBacktracker inPlace = new InPlaceBacktracker(new Safe(args[0]));
+                sol = inPlace.solve();
+                nodes = inPlace.getNodesExplored();
+            } else if (engine.equals("parallel")) {
+                ParallelBacktracker parallel = new ParallelBacktracker();
+                sol = parallel.solve(new SafeConfig(args[0]));
+                nodes = parallel.getNodesExplored();
+                parallel.shutdown();
+            } else if (engine.equals("regions")) {
+                RegionSolver regions = new RegionSolver();
+                sol = regions.solve(new Safe(args[0]));
+                nodes = regions.getNodesExplored();
+                regions.shutdown();
+            } else if (engine.equals("sat")) {
+                SafeEncoder encoder = new SafeEncoder(new Safe(args[0]));
+                sol = Optional.ofNullable(encoder.solve());
+                SatSolver sat = encoder.getSolver();
+                nodes = sat.getDecisions();
+                System.out.println("Variables: " + sat.getNumberOfVariables() + ", clauses: " +
+                        sat.getNumberOfClauses() + ", conflicts: " + sat.getConflicts());
+            } else {
+                Configuration init;
+                if (engine.equals("propagate")) {
+                    init = new PropagatingSafeConfig(args[0]);
+                } else if (engine.equals("bits")) {
+                    init = new BitSafeConfig(args[0]);
+                } else if (engine.equals("mcv")) {
+                    init = new SafeConfig(new Safe(args[0]), CellOrder.MOST_CONSTRAINED);
+                } else {
+                    init = new SafeConfig(args[0]);
+                }
+                sol = bt.solve(init);
+                nodes = bt.getNodesExplored();
+            }
+
+            // compute the elapsed time
+            System.out.println("Elapsed time: " +
+                    (System.currentTimeMillis() - start)/1000.0 + " seconds.");
+            System.out.println("Nodes explored: " + nodes);
+            if (stats.getNodesExpanded() > 0) {
+                // the inplace, parallel, regions and sat engines do not run on the backtracker
+                System.out.println(stats.summary());
+            }
+
+            // indicate whether there was a solution, or not
+            if (sol.isPresent()) {
+                System.out.println("Solution:\n" + sol.get());
+            } else {
+                System.out.println("No solution!");
+            }        }
+    }
+}
@@ -1,15 +1,16 @@
 package backtracking;
 
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import model.Safe;
 
 /**
  * Thie is the main class for a safe solver with a path.  It runs the
  * backtracking algorithm and displays the full path of the solution,
- * step by step, if one exists.
+ * step by step, if one exists. Only the moves are kept while solving;
+ * the board of every step is rebuilt from them as it is displayed.
  *
  * @author Sean Strout @ RIT CS
  */
@@ -19,7 +20,8 @@ public class SafeSolverPath {
             System.out.println("Usage: java SafeSolverPath safe.in debug");
         } else {
             // construct the initial configuration from the file
-            Configuration init = new SafeConfig(args[0]);
+            Safe safe = new Safe(args[0]);
+            Configuration init = new SafeConfig(safe);
 
             // create the backtracker with the debug flag
             boolean debug = args[1].equals("true");
@@ -29,20 +31,22 @@ public class SafeSolverPath {
             double start = System.currentTimeMillis();
 
             // attempt to solve the puzzle
-            List<Configuration> path = bt.solveWithPath(init);
+            Optional<List<Move>> moves = bt.solveWithTrace(init);
 
             // compute the elapsed time
             System.out.println("Elapsed time: " +
                     (System.currentTimeMillis() - start)/1000.0 + " seconds.");
 
             // indicate whether there was a solution, or not
-            if (path != null) {
-                int step = 0;
-                // loop through the configs from start to end and display them
-                for (Configuration config : path) {
-                    System.out.println("Step " + step + ":");
-                    System.out.println(config);
-                    ++step;
+            if (moves.isPresent()) {
+                SolutionTrace trace = new SolutionTrace(safe, moves.get());
+                Iterator<Safe> boards = trace.boards();
+                System.out.println("Step 0:");
+                System.out.println(boards.next());
+                // replay the moves from start to end and display the boards
+                for (int step = 1; boards.hasNext(); ++step) {
+                    System.out.println("Step " + step + ": " + trace.getMoves().get(step - 1));
+                    System.out.println(boards.next());
                 }
             } else {
                 System.out.println("No solution!");
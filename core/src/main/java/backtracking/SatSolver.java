@@ -0,0 +1,577 @@
+package backtracking;
+
+/**
+ * File: SatSolver.java
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A conflict-driven clause-learning SAT solver, in the style of MiniSat.
+ *
+ * Variables are numbered from 1 and literals are written as in DIMACS: v for
+ * the variable being true and -v for it being false. Every clause watches two
+ * of its literals and is only looked at when one of them becomes false. A
+ * conflict is analysed back to its first unique implication point, the learnt
+ * clause is added and the search jumps back to the level where that clause
+ * propagates. Decisions go to the unassigned variable with the highest VSIDS
+ * activity, bumped by every conflict the variable takes part in, and take the
+ * value it last had. The search restarts after a number of conflicts following
+ * the Luby sequence.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SatSolver {
+
+    /** Conflicts of the shortest run between restarts */
+    private static final int RESTART_UNIT = 100;
+    /** Activity decay, applied by growing the bump instead */
+    private static final double DECAY = 0.95;
+    /** Activities are scaled down once one grows past this */
+    private static final double RESCALE = 1e100;
+
+    /** Number of variables */
+    private int numberOfVariables;
+    /** Every clause, the original ones first, as internal literals */
+    private final List<int[]> clauses = new ArrayList<int[]>();
+    /** For every internal literal, the clauses that watch it */
+    private int[][] watches = new int[0][];
+    /** Number of clauses in every watch list */
+    private int[] watchSizes = new int[0];
+    /** Value of every variable: 1 true, -1 false, 0 unassigned */
+    private byte[] values = new byte[1];
+    /** Decision level at which every variable was assigned */
+    private int[] levels = new int[1];
+    /** Clause that implied every variable, or -1 for decisions */
+    private int[] reasons = new int[1];
+    /** Value every variable had last, tried first at its next decision */
+    private boolean[] phases = new boolean[1];
+    /** VSIDS activity of every variable */
+    private double[] activities = new double[1];
+    /** Amount added to an activity by the next bump */
+    private double bump = 1;
+    /** Marks of the variables met while analysing a conflict */
+    private boolean[] seen = new boolean[1];
+    /** Unassigned variables by activity, and some assigned ones */
+    private final VariableHeap heap = new VariableHeap();
+    /** Assigned literals, in order */
+    private int[] trail = new int[0];
+    /** Number of literals in the trail */
+    private int trailSize;
+    /** Start of every decision level in the trail */
+    private int[] levelStarts = new int[0];
+    /** Current decision level */
+    private int level;
+    /** Next literal of the trail to propagate */
+    private int propagated;
+    /** False once the clauses are known to be unsatisfiable */
+    private boolean ok = true;
+    /** Number of decisions made */
+    private long decisions;
+    /** Number of conflicts met */
+    private long conflicts;
+    /** Number of literals assigned by propagation */
+    private long propagations;
+
+    /**
+     * @return a new variable, numbered after the previous ones
+     */
+    public int newVariable() {
+        int variable = ++numberOfVariables;
+        int length = numberOfVariables + 1;
+        if (length > values.length) {
+            int capacity = Math.max(length, values.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+            phases = Arrays.copyOf(phases, capacity);
+            activities = Arrays.copyOf(activities, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+            trail = Arrays.copyOf(trail, capacity);
+            levelStarts = Arrays.copyOf(levelStarts, capacity);
+            watches = Arrays.copyOf(watches, 2 * capacity);
+            watchSizes = Arrays.copyOf(watchSizes, 2 * capacity);
+        }
+        reasons[variable] = -1;
+        heap.insert(variable);
+        return variable;
+    }
+
+    /**
+     * @return number of variables
+     */
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    /**
+     * Adds a clause, e.g. the disjunction of some literals. Clauses can only
+     * be added before solve.
+     *
+     * @param literals the literals, v or -v for a variable v
+     * @throws IllegalArgumentException if a literal has no variable
+     */
+    public void addClause(int... literals) {
+        if (!ok) {
+            return;
+        }
+        int[] clause = new int[literals.length];
+        int size = 0;
+        for (int literal : literals) {
+            if (literal == 0 || Math.abs(literal) > numberOfVariables) {
+                throw new IllegalArgumentException("Literal " + literal + " has no variable");
+            }
+            int internal = internal(literal);
+            int value = valueOf(internal);
+            if (value > 0 || contains(clause, size, internal ^ 1)) {
+                // satisfied already, or always satisfied
+                return;
+            }
+            if (value == 0 && !contains(clause, size, internal)) {
+                clause[size++] = internal;
+            }
+        }
+        if (size == 0) {
+            ok = false;
+        } else if (size == 1) {
+            assign(clause[0], -1);
+            ok = propagate() < 0;
+        } else {
+            attach(Arrays.copyOf(clause, size));
+        }
+    }
+
+    /**
+     * Searches for an assignment that satisfies every clause.
+     *
+     * @return true if there is one, then given by value; false if there is none
+     */
+    public boolean solve() {
+        if (!ok) {
+            return false;
+        }
+        for (int run = 1; ; run++) {
+            Boolean result = search(RESTART_UNIT * luby(run));
+            if (result != null) {
+                ok = result;
+                return result;
+            }
+        }
+    }
+
+    /**
+     * @param variable a variable
+     * @return its value in the assignment found by solve
+     */
+    public boolean value(int variable) {
+        return values[variable] > 0;
+    }
+
+    /**
+     * @return number of decisions made
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * @return number of conflicts met, e.g. clauses learnt
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @return number of literals assigned by propagation
+     */
+    public long getPropagations() {
+        return propagations;
+    }
+
+    /**
+     * @return number of clauses, the learnt ones included
+     */
+    public int getNumberOfClauses() {
+        return clauses.size();
+    }
+
+    /**
+     * Searches until a result or until a number of conflicts, then goes back
+     * to the first level for a restart.
+     *
+     * @param maxConflicts conflicts allowed before the restart
+     * @return true or false once the result is known, null for a restart
+     */
+    private Boolean search(long maxConflicts) {
+        long conflictsHere = 0;
+        while (true) {
+            int conflict = propagate();
+            if (conflict >= 0) {
+                conflicts++;
+                conflictsHere++;
+                if (level == 0) {
+                    return false;
+                }
+                learn(conflict);
+                decayActivities();
+            } else if (conflictsHere >= maxConflicts) {
+                backtrack(0);
+                return null;
+            } else {
+                int variable = pickBranchVariable();
+                if (variable == 0) {
+                    return true;
+                }
+                decisions++;
+                levelStarts[level++] = trailSize;
+                assign(phases[variable] ? 2 * variable : 2 * variable + 1, -1);
+            }
+        }
+    }
+
+    /**
+     * Assigns every literal implied by the trail.
+     *
+     * @return the clause that became false, or -1 if none did
+     */
+    private int propagate() {
+        while (propagated < trailSize) {
+            int falseLiteral = trail[propagated++] ^ 1;
+            int[] watchers = watches[falseLiteral];
+            int size = watchSizes[falseLiteral];
+            int kept = 0;
+            int i = 0;
+            while (i < size) {
+                int index = watchers[i++];
+                int[] clause = clauses.get(index);
+                // the false literal goes second, the other watch first
+                if (clause[0] == falseLiteral) {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+                if (valueOf(clause[0]) > 0) {
+                    watchers[kept++] = index;
+                    continue;
+                }
+                boolean moved = false;
+                for (int k = 2; k < clause.length; k++) {
+                    if (valueOf(clause[k]) >= 0) {
+                        clause[1] = clause[k];
+                        clause[k] = falseLiteral;
+                        watch(clause[1], index);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) {
+                    continue;
+                }
+                watchers[kept++] = index;
+                if (valueOf(clause[0]) < 0) {
+                    // every literal is false: keep the remaining watchers and stop
+                    while (i < size) {
+                        watchers[kept++] = watchers[i++];
+                    }
+                    watchSizes[falseLiteral] = kept;
+                    propagated = trailSize;
+                    return index;
+                }
+                propagations++;
+                assign(clause[0], index);
+            }
+            watchSizes[falseLiteral] = kept;
+        }
+        return -1;
+    }
+
+    /**
+     * Learns the first unique implication point clause of a conflict, jumps
+     * back to where it propagates and assigns its first literal.
+     *
+     * @param conflict the clause that became false
+     */
+    private void learn(int conflict) {
+        List<Integer> learnt = new ArrayList<Integer>();
+        learnt.add(0);
+        int pending = 0;
+        int literal = -1;
+        int index = trailSize - 1;
+        int reason = conflict;
+        do {
+            int[] clause = clauses.get(reason);
+            // the first literal of a reason is the one it implied
+            for (int j = literal < 0 ? 0 : 1; j < clause.length; j++) {
+                int variable = clause[j] >> 1;
+                if (!seen[variable] && levels[variable] > 0) {
+                    bumpActivity(variable);
+                    seen[variable] = true;
+                    if (levels[variable] >= level) {
+                        pending++;
+                    } else {
+                        learnt.add(clause[j]);
+                    }
+                }
+            }
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            literal = trail[index--];
+            reason = reasons[literal >> 1];
+            seen[literal >> 1] = false;
+            pending--;
+        } while (pending > 0);
+        learnt.set(0, literal ^ 1);
+
+        int[] clause = new int[learnt.size()];
+        int backLevel = 0;
+        for (int j = 0; j < clause.length; j++) {
+            clause[j] = learnt.get(j);
+            seen[clause[j] >> 1] = false;
+            // the literal of the highest level after the first is watched second
+            if (j > 0 && levels[clause[j] >> 1] > backLevel) {
+                backLevel = levels[clause[j] >> 1];
+                clause[j] = clause[1];
+                clause[1] = learnt.get(j);
+            }
+        }
+        backtrack(backLevel);
+        if (clause.length == 1) {
+            assign(clause[0], -1);
+        } else {
+            assign(clause[0], attach(clause));
+        }
+    }
+
+    /**
+     * Undoes every assignment above a level.
+     *
+     * @param target the level to go back to
+     */
+    private void backtrack(int target) {
+        if (level <= target) {
+            return;
+        }
+        for (int i = trailSize - 1; i >= levelStarts[target]; i--) {
+            int variable = trail[i] >> 1;
+            phases[variable] = values[variable] > 0;
+            values[variable] = 0;
+            reasons[variable] = -1;
+            heap.insert(variable);
+        }
+        trailSize = levelStarts[target];
+        propagated = trailSize;
+        level = target;
+    }
+
+    /**
+     * @return the unassigned variable with the highest activity, or 0 if
+     * every variable is assigned
+     */
+    private int pickBranchVariable() {
+        while (!heap.isEmpty()) {
+            int variable = heap.removeMax();
+            if (values[variable] == 0) {
+                return variable;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Makes a literal true.
+     *
+     * @param literal the internal literal
+     * @param reason the clause that implied it, or -1 for a decision
+     */
+    private void assign(int literal, int reason) {
+        int variable = literal >> 1;
+        values[variable] = (byte) ((literal & 1) == 0 ? 1 : -1);
+        levels[variable] = level;
+        reasons[variable] = reason;
+        trail[trailSize++] = literal;
+    }
+
+    /**
+     * Stores a clause of at least two literals and watches its first two.
+     *
+     * @param clause the internal literals
+     * @return index of the clause
+     */
+    private int attach(int[] clause) {
+        int index = clauses.size();
+        clauses.add(clause);
+        watch(clause[0], index);
+        watch(clause[1], index);
+        return index;
+    }
+
+    /**
+     * @param literal an internal literal
+     * @param index a clause to look at once the literal is false
+     */
+    private void watch(int literal, int index) {
+        int[] watchers = watches[literal];
+        if (watchers == null) {
+            watchers = watches[literal] = new int[4];
+        } else if (watchSizes[literal] == watchers.length) {
+            watchers = watches[literal] = Arrays.copyOf(watchers, watchers.length * 2);
+        }
+        watchers[watchSizes[literal]++] = index;
+    }
+
+    /**
+     * @param variable a variable met in a conflict
+     */
+    private void bumpActivity(int variable) {
+        activities[variable] += bump;
+        if (activities[variable] > RESCALE) {
+            for (int v = 1; v <= numberOfVariables; v++) {
+                activities[v] /= RESCALE;
+            }
+            bump /= RESCALE;
+        }
+        heap.increased(variable);
+    }
+
+    /**
+     * Makes later bumps count more than the earlier ones.
+     */
+    private void decayActivities() {
+        bump /= DECAY;
+    }
+
+    /**
+     * @param literal an internal literal
+     * @return 1 if it is true, -1 if it is false, 0 if unassigned
+     */
+    private int valueOf(int literal) {
+        int value = values[literal >> 1];
+        return (literal & 1) == 0 ? value : -value;
+    }
+
+    /**
+     * @param literal a literal, v or -v
+     * @return the internal literal: 2v if positive, 2v + 1 if negative
+     */
+    private static int internal(int literal) {
+        return literal > 0 ? 2 * literal : -2 * literal + 1;
+    }
+
+    /**
+     * @param literals internal literals
+     * @param size number of literals to look at
+     * @param literal the one looked for
+     * @return true if it is among them
+     */
+    private static boolean contains(int[] literals, int size, int literal) {
+        for (int i = 0; i < size; i++) {
+            if (literals[i] == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param i position in the sequence, from 1
+     * @return the i-th number of the Luby sequence: 1 1 2 1 1 2 4 1 1 2 ...
+     */
+    static long luby(int i) {
+        int k = 1;
+        while ((1L << k) - 1 < i) {
+            k++;
+        }
+        while (i != (1L << k) - 1) {
+            i -= (1 << (k - 1)) - 1;
+            k = 1;
+            while ((1L << k) - 1 < i) {
+                k++;
+            }
+        }
+        return 1L << (k - 1);
+    }
+
+    /**
+     * A binary max-heap of variables ordered by activity.
+     */
+    private class VariableHeap {
+        /** The variables, the root at 0 */
+        private int[] heap = new int[16];
+        /** Number of variables in the heap */
+        private int size;
+        /** Position of every variable in the heap, -1 if not in it */
+        private int[] positions = new int[16];
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void insert(int variable) {
+            if (variable >= positions.length) {
+                int old = positions.length;
+                positions = Arrays.copyOf(positions, Math.max(variable + 1, old * 2));
+                Arrays.fill(positions, old, positions.length, -1);
+            } else if (positions[variable] >= 0 && positions[variable] < size &&
+                    heap[positions[variable]] == variable) {
+                return;
+            }
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = variable;
+            positions[variable] = size;
+            up(size++);
+        }
+
+        void increased(int variable) {
+            if (variable < positions.length && positions[variable] >= 0 && positions[variable] < size &&
+                    heap[positions[variable]] == variable) {
+                up(positions[variable]);
+            }
+        }
+
+        int removeMax() {
+            int max = heap[0];
+            positions[max] = -1;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                down(0);
+            }
+            return max;
+        }
+
+        private void up(int i) {
+            int variable = heap[i];
+            while (i > 0 && activities[heap[(i - 1) / 2]] < activities[variable]) {
+                heap[i] = heap[(i - 1) / 2];
+                positions[heap[i]] = i;
+                i = (i - 1) / 2;
+            }
+            heap[i] = variable;
+            positions[variable] = i;
+        }
+
+        private void down(int i) {
+            int variable = heap[i];
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && activities[heap[child + 1]] > activities[heap[child]]) {
+                    child++;
+                }
+                if (activities[heap[child]] <= activities[variable]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                positions[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = variable;
+            positions[variable] = i;
+        }
+    }
+}
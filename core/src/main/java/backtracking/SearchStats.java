@@ -0,0 +1,255 @@
+package backtracking;
+
+/**
+ * File: SearchStats.java
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of a search, cheap enough to keep on for real puzzles: the
+ * configurations expanded, the successors found valid and invalid, the
+ * invalid ones by the reason the configuration gives, the deepest level
+ * reached and, for every depth, the configurations expanded there and the
+ * time spent expanding them and checking their successors.
+ *
+ * The counters are plain fields written by the searching thread. Another
+ * thread, e.g. a JMX client, may read them while the search runs and then
+ * sees them a little behind.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SearchStats implements SearchStatsMBean {
+
+    /** Depths the histograms start with */
+    private static final int INITIAL_DEPTH = 64;
+    /** Most lines the time histogram of the summary takes */
+    private static final int HISTOGRAM_ROWS = 20;
+    /** Length of the longest bar of the time histogram */
+    private static final int BAR = 40;
+
+    /** Number of configurations expanded */
+    private long nodes;
+    /** Number of successors found valid */
+    private long valid;
+    /** Number of successors found invalid */
+    private long invalid;
+    /** Number of invalid successors by reason, indexed by ordinal */
+    private final long[] prunes = new long[PruneReason.values().length];
+    /** Depth of the deepest configuration expanded */
+    private int maxDepth;
+    /** Nanoseconds spent at every depth */
+    private long[] nanos = new long[INITIAL_DEPTH];
+    /** Configurations expanded at every depth */
+    private long[] nodesAt = new long[INITIAL_DEPTH];
+    /** Name under which the stats are registered, or null */
+    private ObjectName objectName;
+
+    /**
+     * Counts a configuration being expanded.
+     *
+     * @param depth its depth, the start being at 0
+     */
+    void expanded(int depth) {
+        nodes++;
+        if (depth >= nodesAt.length) {
+            grow(depth);
+        }
+        nodesAt[depth]++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Counts a successor found valid.
+     */
+    void validSuccessor() {
+        valid++;
+    }
+
+    /**
+     * Counts a successor found invalid.
+     *
+     * @param reason why, or null if the configuration does not tell
+     */
+    void invalidSuccessor(PruneReason reason) {
+        invalid++;
+        if (reason != null) {
+            prunes[reason.ordinal()]++;
+        }
+    }
+
+    /**
+     * Adds time spent at a depth.
+     *
+     * @param depth the depth, the start being at 0
+     * @param elapsed nanoseconds spent there
+     */
+    void timeSpent(int depth, long elapsed) {
+        if (depth >= nanos.length) {
+            grow(depth);
+        }
+        nanos[depth] += elapsed;
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return nodes;
+    }
+
+    @Override
+    public long getValidSuccessors() {
+        return valid;
+    }
+
+    @Override
+    public long getInvalidSuccessors() {
+        return invalid;
+    }
+
+    /**
+     * @param reason a reason for pruning
+     * @return number of successors found invalid for that reason
+     */
+    public long getPrunes(PruneReason reason) {
+        return prunes[reason.ordinal()];
+    }
+
+    @Override
+    public long getLaserConflictPrunes() {
+        return getPrunes(PruneReason.LASER_CONFLICT);
+    }
+
+    @Override
+    public long getPillarCountPrunes() {
+        return getPrunes(PruneReason.PILLAR_COUNT);
+    }
+
+    @Override
+    public long getUncoveredCellPrunes() {
+        return getPrunes(PruneReason.UNCOVERED_CELL);
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public long[] getNanosPerDepth() {
+        return Arrays.copyOf(nanos, Math.min(nanos.length, maxDepth + 1));
+    }
+
+    @Override
+    public long[] getNodesPerDepth() {
+        return Arrays.copyOf(nodesAt, Math.min(nodesAt.length, maxDepth + 1));
+    }
+
+    @Override
+    public void reset() {
+        nodes = 0;
+        valid = 0;
+        invalid = 0;
+        Arrays.fill(prunes, 0);
+        maxDepth = 0;
+        Arrays.fill(nanos, 0);
+        Arrays.fill(nodesAt, 0);
+    }
+
+    /**
+     * Makes the stats visible over JMX, as
+     * backtracking:type=SearchStats,name=the given name.
+     *
+     * @param name tells these stats apart from others
+     * @throws JMException if the name is taken or not a valid one
+     */
+    public void register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("backtracking:type=SearchStats,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Removes the stats from JMX, if they were registered.
+     *
+     * @throws JMException if they were already removed by someone else
+     */
+    public void unregister() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * @return a few lines with every counter, and the histogram of the
+     * time spent at each depth
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Nodes expanded: ").append(nodes).append("\n");
+        summary.append("Successors: ").append(valid).append(" valid, ").append(invalid).append(" invalid\n");
+        long classified = 0;
+        summary.append("Prunes:");
+        for (PruneReason reason : PruneReason.values()) {
+            summary.append(" ").append(reason).append(" ").append(getPrunes(reason));
+            classified += getPrunes(reason);
+        }
+        if (classified < invalid) {
+            summary.append(" UNCLASSIFIED ").append(invalid - classified);
+        }
+        summary.append("\n");
+        summary.append("Max depth: ").append(maxDepth).append("\n");
+        summary.append("Time per depth:");
+        long[] time = getNanosPerDepth();
+        long[] expanded = getNodesPerDepth();
+        // deep searches get their depths grouped, so the histogram keeps to a few lines
+        int width = (time.length + HISTOGRAM_ROWS - 1) / HISTOGRAM_ROWS;
+        long[] rowTime = new long[(time.length + width - 1) / width];
+        long[] rowNodes = new long[rowTime.length];
+        long total = 0;
+        for (int depth = 0; depth < time.length; depth++) {
+            rowTime[depth / width] += time[depth];
+            rowNodes[depth / width] += expanded[depth];
+            total += time[depth];
+        }
+        long most = 0;
+        for (long t : rowTime) {
+            most = Math.max(most, t);
+        }
+        for (int row = 0; row < rowTime.length; row++) {
+            String depths = width == 1 ? String.valueOf(row) :
+                    row * width + "-" + Math.min(time.length - 1, (row + 1) * width - 1);
+            summary.append(String.format("%n%11s %10.3f ms %6.2f%% %12d nodes ", depths, rowTime[row] / 1e6,
+                    total == 0 ? 0.0 : 100.0 * rowTime[row] / total, rowNodes[row]));
+            for (int i = 0, bar = most == 0 ? 0 : (int) (BAR * rowTime[row] / most); i < bar; i++) {
+                summary.append('#');
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * @return the counters on one line
+     */
+    public String toString() {
+        return "SearchStats[nodes=" + nodes + ", valid=" + valid + ", invalid=" + invalid +
+                ", prunes=" + Arrays.toString(prunes) + ", maxDepth=" + maxDepth + "]";
+    }
+
+    /**
+     * Makes the histograms big enough for a depth.
+     *
+     * @param depth the depth
+     */
+    private void grow(int depth) {
+        int length = Math.max(depth + 1, nanos.length * 2);
+        nanos = Arrays.copyOf(nanos, length);
+        nodesAt = Arrays.copyOf(nodesAt, length);
+    }
+}
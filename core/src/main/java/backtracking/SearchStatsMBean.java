@@ -0,0 +1,65 @@
+package backtracking;
+
+/**
+ * File: SearchStatsMBean.java
+ */
+
+/**
+ * The management interface of SearchStats, so the counters of a running
+ * search can be watched with JConsole or any other JMX client.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public interface SearchStatsMBean {
+
+    /**
+     * @return number of configurations expanded
+     */
+    public long getNodesExpanded();
+
+    /**
+     * @return number of successors found valid
+     */
+    public long getValidSuccessors();
+
+    /**
+     * @return number of successors found invalid
+     */
+    public long getInvalidSuccessors();
+
+    /**
+     * @return number of successors pruned because two lasers see each other
+     */
+    public long getLaserConflictPrunes();
+
+    /**
+     * @return number of successors pruned because of a numbered pillar
+     */
+    public long getPillarCountPrunes();
+
+    /**
+     * @return number of successors pruned because of a cell no laser can cover
+     */
+    public long getUncoveredCellPrunes();
+
+    /**
+     * @return depth of the deepest configuration expanded, the start being at 0
+     */
+    public int getMaxDepth();
+
+    /**
+     * @return nanoseconds spent at every depth, from 0 to the maximum depth
+     */
+    public long[] getNanosPerDepth();
+
+    /**
+     * @return configurations expanded at every depth, from 0 to the maximum depth
+     */
+    public long[] getNodesPerDepth();
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public void reset();
+}
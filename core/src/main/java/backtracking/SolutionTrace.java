@@ -0,0 +1,123 @@
+package backtracking;
+
+/**
+ * File: SolutionTrace.java
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import model.Safe;
+
+/**
+ * The way from a safe to its solution, kept as the decisions the solver made
+ * rather than as a board for every step. Boards are only rebuilt when asked for,
+ * by replaying the decisions on a copy of the starting safe.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SolutionTrace {
+
+    /** The safe the solver started from */
+    private final Safe start;
+    /** The decisions in the order they were made */
+    private final List<Move> moves;
+
+    /**
+     * @param start - the safe the solver started from, it is copied
+     * @param moves - the decisions in the order they were made
+     */
+    public SolutionTrace(Safe start, List<Move> moves) {
+        this.start = new Safe(start);
+        this.moves = Collections.unmodifiableList(new ArrayList<Move>(moves));
+    }
+
+    /**
+     * @return the decisions in the order they were made
+     */
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return number of decisions
+     */
+    public int size() {
+        return moves.size();
+    }
+
+    /**
+     * @return the first laser placed by the solver, or empty if it placed none
+     */
+    public Optional<Move> firstLaser() {
+        for (Move move : moves) {
+            if (move.isPlaced()) {
+                return Optional.of(move);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuilds the board after a number of decisions.
+     * @param step - number of decisions to replay, from 0 to size()
+     * @return a new Safe with the board at that step
+     */
+    public Safe boardAt(int step) {
+        Safe board = new Safe(start);
+        for (Move move : moves.subList(0, step)) {
+            apply(board, move);
+        }
+        return board;
+    }
+
+    /**
+     * @return a new Safe with the solution
+     */
+    public Safe getSolution() {
+        return boardAt(moves.size());
+    }
+
+    /**
+     * Replays the decisions one at a time, so going through every step costs one
+     * decision per step rather than a replay from the start.
+     * @return the boards from the starting safe to the solution, each a new Safe
+     */
+    public Iterator<Safe> boards() {
+        return new Iterator<Safe>() {
+            private final Safe board = new Safe(start);
+            private int step = 0;
+
+            @Override
+            public boolean hasNext() {
+                return step <= moves.size();
+            }
+
+            @Override
+            public Safe next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (step > 0) {
+                    apply(board, moves.get(step - 1));
+                }
+                step++;
+                return new Safe(board);
+            }
+        };
+    }
+
+    /**
+     * @param board - the board to change
+     * @param move - the decision to replay on it
+     */
+    private static void apply(Safe board, Move move) {
+        if (move.isPlaced()) {
+            board.Add(move.getRow(), move.getColumn());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package backtracking;
+
+/**
+ * File: ZobristKeys.java
+ */
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import model.Safe;
+
+/**
+ * Random keys for Zobrist hashing of safe configurations. Every cell has one key
+ * for holding a laser, one for being decided without one and one for a pillar,
+ * turned by the kind of pillar, and every position of the search cursor has its
+ * own key. The hash of a configuration is the xor of the keys of its state, so it
+ * is updated with one xor per decision.
+ *
+ * The keys only depend on the number of cells, so configurations of the same safe
+ * always hash alike, even when they were created by different solvers. Safes of
+ * the same size still hash apart, because their pillars are part of the hash.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+class ZobristKeys {
+
+    /** Seed of the keys, fixed so hashes are the same from run to run */
+    private static final long SEED = 0x4c61736572735aL;
+    /** Keys already made, by number of cells */
+    private static final ConcurrentMap<Integer, ZobristKeys> KEYS = new ConcurrentHashMap<Integer, ZobristKeys>();
+
+    /** Key of a laser in every cell */
+    private final long[] laser;
+    /** Key of every cell decided without a laser */
+    private final long[] none;
+    /** Key of a pillar in every cell, before it is turned by the kind of pillar */
+    private final long[] pillar;
+    /** Key of every position of the cursor, shifted by one for the position before the first cell */
+    private final long[] cursor;
+
+    /**
+     * @param cells - number of cells in the safe
+     */
+    private ZobristKeys(int cells) {
+        SplittableRandom random = new SplittableRandom(SEED ^ cells);
+        laser = new long[cells];
+        none = new long[cells];
+        pillar = new long[cells];
+        cursor = new long[cells + 1];
+        for (int i = 0; i < cells; i++) {
+            laser[i] = random.nextLong();
+            none[i] = random.nextLong();
+            pillar[i] = random.nextLong();
+        }
+        for (int i = 0; i <= cells; i++) {
+            cursor[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @param cells - number of cells in the safe
+     * @return the keys for safes of that size
+     */
+    static ZobristKeys forCells(int cells) {
+        return KEYS.computeIfAbsent(cells, ZobristKeys::new);
+    }
+
+    /**
+     * @param cell - row-major index of the cell
+     * @return key of a laser in the cell
+     */
+    long laser(int cell) {
+        return laser[cell];
+    }
+
+    /**
+     * @param grid - the cells of a safe with as many cells as the keys
+     * @return xor of the keys of its pillars
+     */
+    long pillars(char[][] grid) {
+        long hash = 0;
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < grid[i].length; j++) {
+                if (Safe.isPillar(grid[i][j])) {
+                    // the low six bits of X and of the digits all differ
+                    hash ^= Long.rotateLeft(pillar[i * grid[i].length + j], grid[i][j]);
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param cell - row-major index of the cell
+     * @return key of the cell decided without a laser
+     */
+    long none(int cell) {
+        return none[cell];
+    }
+
+    /**
+     * @param cell - row-major index of the current cell, -1 before the first one
+     * @return key of the cursor on that cell
+     */
+    long cursor(int cell) {
+        return cursor[cell + 1];
+    }
+}
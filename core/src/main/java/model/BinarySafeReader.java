@@ -0,0 +1,176 @@
+package model;
+
+/**
+ * File: BinarySafeReader.java
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a safe in the binary .safe format, see BinarySafeFormat. The file is
+ * mapped into memory and only its header is checked when it is opened, so a
+ * batch job can look at the size of many safes without decoding them. The
+ * cells are decoded straight into the grid of the Safe, which keeps it
+ * without another copy.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BinarySafeReader {
+
+    /** What the file holds */
+    private final ByteBuffer in;
+    /** Name of the file, for the error messages */
+    private final String source;
+    /** Number of rows in the safe */
+    private final int numberOfRows;
+    /** Number of columns in the safe */
+    private final int numberOfColumns;
+    /** Does a solution follow the cells? */
+    private final boolean solution;
+
+    /**
+     * Maps a binary safe file and checks its header.
+     * @param file - the binary safe file
+     * @throws java.io.FileNotFoundException if the file does not exist or cannot be opened
+     * @throws IOException if the file cannot be mapped
+     * @throws SafeFormatException if the file is not a binary safe, or is cut short
+     */
+    public BinarySafeReader(File file) throws IOException {
+        this(map(file), file.getPath());
+    }
+
+    /**
+     * Checks the header of a binary safe.
+     * @param in - what the file holds, from its first byte
+     * @param source - name of the file, for the error messages
+     * @throws SafeFormatException if the bytes are not a binary safe, or are cut short
+     */
+    BinarySafeReader(ByteBuffer in, String source) {
+        this.in = in;
+        this.source = source;
+        if (!isBinary(in)) {
+            throw new SafeFormatException(source, 0, "not a binary safe");
+        }
+        if (in.limit() < BinarySafeFormat.HEADER_SIZE) {
+            throw new SafeFormatException(source, in.limit(), "the header is cut short");
+        }
+        if (in.get(4) != BinarySafeFormat.VERSION) {
+            throw new SafeFormatException(source, 4, "version " + in.get(4) + " is not supported");
+        }
+        solution = (in.get(5) & BinarySafeFormat.HAS_SOLUTION) != 0;
+        numberOfRows = in.getInt(BinarySafeFormat.ROWS);
+        numberOfColumns = in.getInt(BinarySafeFormat.COLUMNS);
+        if (numberOfRows < 1) {
+            throw new SafeFormatException(source, BinarySafeFormat.ROWS, "the number of rows must be at least 1");
+        }
+        if (numberOfColumns < 1) {
+            throw new SafeFormatException(source, BinarySafeFormat.COLUMNS,
+                    "the number of columns must be at least 1");
+        }
+        long cells = (long) numberOfRows * numberOfColumns;
+        long size = BinarySafeFormat.HEADER_SIZE + BinarySafeFormat.cellBytes(cells) +
+                (solution ? BinarySafeFormat.solutionBytes(cells) : 0);
+        if (in.limit() < size) {
+            throw new SafeFormatException(source, in.limit(), "expected " + size + " bytes for a " +
+                    numberOfRows + "x" + numberOfColumns + " safe, found " + in.limit());
+        }
+    }
+
+    /**
+     * @param in - the first bytes of a file
+     * @return true if they start a binary safe
+     */
+    static boolean isBinary(ByteBuffer in) {
+        return in.limit() >= 4 && in.getInt(0) == BinarySafeFormat.MAGIC;
+    }
+
+    /**
+     * @return number of rows in the safe
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @return number of columns in the safe
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * @return true if the file holds a solution of the safe
+     */
+    public boolean hasSolution() {
+        return solution;
+    }
+
+    /**
+     * @return a new Safe with the cells of the file
+     * @throws SafeFormatException if a cell has no meaning
+     */
+    public Safe getSafe() {
+        return new Safe(readGrid(false), false);
+    }
+
+    /**
+     * @return a new Safe with the cells of the file and the lasers of its
+     * solution, or null if it holds none
+     * @throws SafeFormatException if a cell has no meaning, or a laser of the
+     * solution is on a pillar
+     */
+    public Safe getSolution() {
+        return solution ? new Safe(readGrid(true), false) : null;
+    }
+
+    /**
+     * Decodes the cells.
+     * @param withSolution - true to place the lasers of the solution as well
+     * @return the grid, one array per row
+     * @throws SafeFormatException if a cell has no meaning, or a laser of the
+     * solution is on a pillar
+     */
+    char[][] readGrid(boolean withSolution) {
+        char[][] grid = new char[numberOfRows][numberOfColumns];
+        long cells = (long) numberOfRows * numberOfColumns;
+        int solutionStart = (int) (BinarySafeFormat.HEADER_SIZE + BinarySafeFormat.cellBytes(cells));
+        int cell = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++, cell++) {
+                int offset = BinarySafeFormat.HEADER_SIZE + (cell >>> 1);
+                int code = (cell & 1) == 0 ? (in.get(offset) >>> 4) & 0xf : in.get(offset) & 0xf;
+                char value = BinarySafeFormat.cell(code);
+                if (value == 0) {
+                    throw new SafeFormatException(source, offset, "code " + code + " of the cell (" + i + ", " +
+                            j + ") is not a cell");
+                }
+                if (withSolution && (in.get(solutionStart + (cell >>> 3)) & (1 << (cell & 7))) != 0) {
+                    if (Safe.isPillar(value)) {
+                        throw new SafeFormatException(source, solutionStart + (cell >>> 3),
+                                "the solution has a laser on the pillar (" + i + ", " + j + ")");
+                    }
+                    value = Safe.LASER;
+                }
+                grid[i][j] = value;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param file - a file
+     * @return the whole file, mapped into memory
+     * @throws java.io.FileNotFoundException if the file does not exist or cannot be opened
+     * @throws IOException if the file cannot be mapped
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package model;
+
+/**
+ * File: BinarySafeWriter.java
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes safes in the binary .safe format, see BinarySafeFormat.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public final class BinarySafeWriter {
+
+    private BinarySafeWriter() {
+    }
+
+    /**
+     * Writes a safe to a file.
+     * @param safe - the safe; its laser beams are not stored, its lasers are
+     * @param solution - a solution of the safe, or null to store none
+     * @param file - the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the solution does not have the size of the safe
+     */
+    public static void write(Safe safe, Safe solution, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(safe, solution, out);
+        }
+    }
+
+    /**
+     * Writes a safe to a stream, which is left open.
+     * @param safe - the safe; its laser beams are not stored, its lasers are
+     * @param solution - a solution of the safe, or null to store none
+     * @param out - where the safe goes
+     * @throws IOException if the stream cannot be written
+     * @throws IllegalArgumentException if the solution does not have the size of the safe
+     */
+    public static void write(Safe safe, Safe solution, OutputStream out) throws IOException {
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        if (solution != null && (solution.getNumberOfRows() != rows || solution.getNumberOfColumns() != columns)) {
+            throw new IllegalArgumentException("The solution is " + solution.getNumberOfRows() + "x" +
+                    solution.getNumberOfColumns() + ", the safe " + rows + "x" + columns);
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BinarySafeFormat.MAGIC);
+        data.writeByte(BinarySafeFormat.VERSION);
+        data.writeByte(solution != null ? BinarySafeFormat.HAS_SOLUTION : 0);
+        data.writeShort(0);
+        data.writeInt(rows);
+        data.writeInt(columns);
+
+        char[][] grid = safe.getGrid();
+        int pending = -1;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int code = BinarySafeFormat.code(grid[i][j]);
+                if (pending < 0) {
+                    pending = code << 4;
+                } else {
+                    data.writeByte(pending | code);
+                    pending = -1;
+                }
+            }
+        }
+        if (pending >= 0) {
+            data.writeByte(pending);
+        }
+
+        if (solution != null) {
+            char[][] lasers = solution.getGrid();
+            int bits = 0;
+            int cell = 0;
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++, cell++) {
+                    if (lasers[i][j] == Safe.LASER) {
+                        bits |= 1 << (cell & 7);
+                    }
+                    if ((cell & 7) == 7) {
+                        data.writeByte(bits);
+                        bits = 0;
+                    }
+                }
+            }
+            if ((cell & 7) != 0) {
+                data.writeByte(bits);
+            }
+        }
+        data.flush();
+    }
+}
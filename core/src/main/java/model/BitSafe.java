@@ -0,0 +1,318 @@
+package model;
+
+/**
+ * File: BitSafe.java
+ */
+
+/**
+ * A packed representation of a safe used by the solvers. Every cell is one bit
+ * in each of the masks for lasers, laser beams, pillars and empty cells, stored
+ * in row-major order. The pillar layout and its segment index never change after
+ * loading, so they are shared between copies; only the masks and the per-segment
+ * laser counts are cloned.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BitSafe {
+
+    /** Number of rows in the safe */
+    private final int numberOfRows;
+    /** Number of columns in the safe */
+    private final int numberOfColumns;
+    /** Pillar of every cell in row-major order, EMPTY for open cells. Shared between copies */
+    private final char[] layout;
+    /** Indices of the numbered pillars. Shared between copies */
+    private final int[] numberedPillars;
+    /** Mask of the pillars. Shared between copies */
+    private final long[] pillars;
+    /** Open segments of the safe. Shared between copies */
+    private final SegmentIndex segments;
+    /** Number of lasers in every horizontal segment */
+    private final int[] horizontalLasers;
+    /** Number of lasers in every vertical segment */
+    private final int[] verticalLasers;
+    /** Mask of the lasers */
+    private final long[] lasers;
+    /** Mask of the laser beams */
+    private final long[] beams;
+    /** Mask of the empty cells, e.g. open cells without laser or beam */
+    private final long[] empty;
+
+    /**
+     * Packs a safe into masks.
+     * @param safe - the safe to pack
+     */
+    public BitSafe(Safe safe) {
+        numberOfRows = safe.getNumberOfRows();
+        numberOfColumns = safe.getNumberOfColumns();
+        int cells = numberOfRows * numberOfColumns;
+        int words = (cells + 63) >>> 6;
+        layout = new char[cells];
+        pillars = new long[words];
+        lasers = new long[words];
+        beams = new long[words];
+        empty = new long[words];
+        int numbered = 0;
+        char[][] grid = safe.getGrid();
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                int index = i * numberOfColumns + j;
+                char cell = grid[i][j];
+                if (Safe.isPillar(cell)) {
+                    layout[index] = cell;
+                    set(pillars, index);
+                    if (cell != Safe.X) {
+                        numbered++;
+                    }
+                } else {
+                    layout[index] = Safe.EMPTY;
+                    if (cell == Safe.LASER) {
+                        set(lasers, index);
+                    } else if (cell == Safe.LASER_BEAM) {
+                        set(beams, index);
+                    } else {
+                        set(empty, index);
+                    }
+                }
+            }
+        }
+        numberedPillars = new int[numbered];
+        numbered = 0;
+        for (int index = 0; index < cells; index++) {
+            if (layout[index] != Safe.EMPTY && layout[index] != Safe.X) {
+                numberedPillars[numbered++] = index;
+            }
+        }
+        segments = safe.getSegments();
+        horizontalLasers = new int[segments.numberOfHorizontal()];
+        verticalLasers = new int[segments.numberOfVertical()];
+        for (int index = 0; index < cells; index++) {
+            if (get(lasers, index)) {
+                horizontalLasers[segments.horizontalOf(index)]++;
+                verticalLasers[segments.verticalOf(index)]++;
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the safe. The pillar layout is shared.
+     * @param other - the safe to copy
+     */
+    public BitSafe(BitSafe other) {
+        numberOfRows = other.numberOfRows;
+        numberOfColumns = other.numberOfColumns;
+        layout = other.layout;
+        numberedPillars = other.numberedPillars;
+        pillars = other.pillars;
+        segments = other.segments;
+        horizontalLasers = other.horizontalLasers.clone();
+        verticalLasers = other.verticalLasers.clone();
+        lasers = other.lasers.clone();
+        beams = other.beams.clone();
+        empty = other.empty.clone();
+    }
+
+    /**
+     * Places a laser and lights its row and column segments. The cell must be open.
+     * @param row - row of the laser
+     * @param column - column of the laser
+     */
+    public void addLaser(int row, int column) {
+        int index = row * numberOfColumns + column;
+        int horizontal = segments.horizontalOf(index);
+        int vertical = segments.verticalOf(index);
+        horizontalLasers[horizontal]++;
+        verticalLasers[vertical]++;
+        set(lasers, index);
+        // the horizontal segment is one run of bits
+        int first = segments.horizontalStart(horizontal);
+        int last = segments.horizontalEnd(horizontal);
+        for (int word = first >>> 6; word <= last >>> 6; word++) {
+            long range = rangeMask(word, first, last);
+            beams[word] |= range & ~lasers[word];
+            empty[word] &= ~range;
+        }
+        // the vertical one is strided by a row
+        last = segments.verticalEnd(vertical);
+        for (int i = segments.verticalStart(vertical); i <= last; i += numberOfColumns) {
+            if (!get(lasers, i)) {
+                set(beams, i);
+            }
+            clear(empty, i);
+        }
+    }
+
+    /**
+     * Checks whether a laser other than the one in the cell is in the same row or column
+     * segment, e.g. there is no pillar between them.
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell can see another laser
+     */
+    public boolean seesLaser(int row, int column) {
+        int index = row * numberOfColumns + column;
+        if (get(pillars, index)) {
+            return false;
+        }
+        int self = get(lasers, index) ? 1 : 0;
+        return horizontalLasers[segments.horizontalOf(index)] > self ||
+                verticalLasers[segments.verticalOf(index)] > self;
+    }
+
+    /**
+     * Counts the lasers next to a cell.
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return number of adjacent lasers
+     */
+    public int numberOfLasersNearby(int row, int column) {
+        int index = row * numberOfColumns + column;
+        int adjacent = 0;
+        if (column > 0 && get(lasers, index - 1)) {
+            adjacent++;
+        }
+        if (column < numberOfColumns - 1 && get(lasers, index + 1)) {
+            adjacent++;
+        }
+        if (row > 0 && get(lasers, index - numberOfColumns)) {
+            adjacent++;
+        }
+        if (row < numberOfRows - 1 && get(lasers, index + numberOfColumns)) {
+            adjacent++;
+        }
+        return adjacent;
+    }
+
+    /**
+     * @return true if some open cell is neither a laser nor lit by one
+     */
+    public boolean hasEmptyCells() {
+        for (long word : empty) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if every numbered pillar has exactly its number of adjacent lasers
+     */
+    public boolean pillarsSatisfied() {
+        for (int index : numberedPillars) {
+            int row = index / numberOfColumns;
+            int column = index % numberOfColumns;
+            if (numberOfLasersNearby(row, column) != layout[index] - Safe.ZERO) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return the character Safe would hold for this cell
+     */
+    public char cellAt(int row, int column) {
+        int index = row * numberOfColumns + column;
+        if (get(lasers, index)) {
+            return Safe.LASER;
+        } else if (get(beams, index)) {
+            return Safe.LASER_BEAM;
+        }
+        return layout[index];
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell is a laser
+     */
+    public boolean isLaser(int row, int column) {
+        return get(lasers, row * numberOfColumns + column);
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell is an open cell without laser or beam
+     */
+    public boolean isEmpty(int row, int column) {
+        return get(empty, row * numberOfColumns + column);
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell is a pillar
+     */
+    public boolean isPillar(int row, int column) {
+        return get(pillars, row * numberOfColumns + column);
+    }
+
+    /**
+     * Unpacks the masks into a regular safe.
+     * @return a new Safe with the same cells
+     */
+    public Safe toSafe() {
+        char[][] grid = new char[numberOfRows][numberOfColumns];
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                grid[i][j] = cellAt(i, j);
+            }
+        }
+        return new Safe(grid);
+    }
+
+    /**
+     * @return number of rows in the safe
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @return number of columns in the safe
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * @return the open segments of the safe, shared between copies
+     */
+    public SegmentIndex getSegments() {
+        return segments;
+    }
+
+    /**
+     * @param word - index of a word in a mask
+     * @param first - first cell of the range
+     * @param last - last cell of the range
+     * @return the bits of the word that fall within the range
+     */
+    private static long rangeMask(int word, int first, int last) {
+        long mask = -1L;
+        if (word == first >>> 6) {
+            mask &= -1L << first;
+        }
+        if (word == last >>> 6) {
+            mask &= -1L >>> (63 - (last & 63));
+        }
+        return mask;
+    }
+
+    private static boolean get(long[] mask, int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] mask, int index) {
+        mask[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] mask, int index) {
+        mask[index >>> 6] &= ~(1L << index);
+    }
+}
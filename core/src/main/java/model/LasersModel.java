@@ -0,0 +1,530 @@
+package model;
+
+/**
+ * File: LasersModel.java
+ * A representation of the safe interactable with the user.
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+
+import backtracking.CellOrder;
+import backtracking.Configuration;
+import backtracking.DeadEndCache;
+import backtracking.IterativeBacktracker;
+import backtracking.PropagatingSafeConfig;
+import backtracking.SafeConfig;
+import java.io.FileNotFoundException;
+import java.util.*;
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Class that represents Lasers model.
+ */
+public class LasersModel extends Observable {
+
+    /** Number of dead ends remembered between hints */
+    private static final int DEAD_ENDS = 1 << 16;
+    /** Number of configurations a background search explores between progress reports */
+    private static final long SLICE = 20000;
+
+    // Private states
+    private Safe safe;
+    /** Message that displays state of a safe */
+    private String message;
+    /** Name of the file with initial safe representation */
+    private String fileName;
+    /** Boolean that indicates whether safe was changed or not */
+    private boolean safeIsChanged;
+    /** Cells holding a laser in the cached solution, null until the safe is solved */
+    private boolean[] solutionLasers;
+    /** True once the safe turned out to have no solution at all */
+    private boolean unsolvable;
+    /** Cells of the cached solution the hints are taken from, in row-major order */
+    private Deque<Integer> hints;
+    /** Number of lasers on the board that are not in the cached solution */
+    private int wrongLasers;
+    /** Order in which the solver decides the cells */
+    private CellOrder cellOrder;
+    /** Boards of the current safe already known to lead to no solution, kept between hints */
+    private DeadEndCache deadEnds;
+    /** Thread the background searches run in */
+    private final ExecutorService solver;
+    /** The background search going on, if any */
+    private CompletableFuture<Boolean> running;
+
+
+    /**
+     * Constructs a safe using data from a text file.
+     * @param filename is the name of the (extant) text file representing the safe layout.
+     * @throws FileNotFoundException if the file does not exist in the directory.
+     */
+    public LasersModel(String filename) throws FileNotFoundException {
+        safeIsChanged = false;
+        safe = new Safe(filename);
+        fileName = Paths.get(filename).getFileName().toString();
+        this.message = this.fileName + " loaded";
+        this.cellOrder = CellOrder.ROW_MAJOR;
+        this.deadEnds = new DeadEndCache(DEAD_ENDS);
+        this.solver = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "safe-solver");
+            // a search left running must not keep the application alive
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns a user-friendly string displaying the safe layout.
+     * @return a String representation of our safe-puzzle.
+     */
+    public String toString() {
+        return safe.toString();
+    }
+
+    /**
+     * @return a boolean that indicates whether safe was changed or not
+     */
+    public boolean getSafeIsChanged() {
+        return safeIsChanged;
+    }
+
+    /**
+     * Method changes a boolean that indicates whether safe was changed or not
+     */
+    public void changeSafeIsChanged(){
+        this.safeIsChanged = !safeIsChanged;
+    }
+
+    /**
+     *  Either adds a laser to our puzzle or changes a message that indicates that  the
+     *  laser cannot be added.
+     * @param row is the row of the laser we're adding.
+     * @param column is the column of that same laser we're adding.
+     */
+    public void Add (int row, int column) {
+        cancelSolving();
+        boolean wasLaser = isLaser(row, column);
+        safe.Add(row,column);
+        if (!wasLaser && isLaser(row, column) && solutionLasers != null &&
+                !solutionLasers[row * safe.getNumberOfColumns() + column]) {
+            wrongLasers++;
+        }
+        message = safe.getMessage();
+        announceChange();
+    }
+
+
+    /**
+     *  Verifies that the safe is either valid or invalid, and changes message to indicate
+     *  user feedback showing where the safe becomes invalid or that
+     *  the safe is indeed valid.
+     */
+    public void Verify () {
+        safe.Verify();
+        message = safe.getMessage();
+        announceChange();
+    }
+
+
+    /**
+     * Removes a laser at a specified location OR shows that there
+     *  exists no laser at said location.
+     * @param row is the row of the laser to remove.
+     * @param column is the column of the laser to remove.
+     */
+    public void Remove(int row, int column) {
+        cancelSolving();
+        boolean wasLaser = isLaser(row, column);
+        safe.Remove(row,column);
+        if (wasLaser && solutionLasers != null) {
+            int cell = row * safe.getNumberOfColumns() + column;
+            if (solutionLasers[cell]) {
+                // the laser is missing again, so it is the first hint to give
+                hints.addFirst(cell);
+            } else {
+                wrongLasers--;
+            }
+        }
+        message = safe.getMessage();
+        announceChange();
+    }
+
+
+    /**
+     * A utility method that indicates the model has changed and
+     * notifies observers
+     */
+    private void announceChange() {
+        setChanged();
+        notifyObservers();
+    }
+
+    /**
+     * @return String message
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Resets last verified row, column states of the safe
+     */
+    public void resetVerifyCoordinates() {
+        safe.resetVerifyCoordinates();
+    }
+
+    /**
+     * @return every cell that keeps the safe from being verified, in row-major order
+     */
+    public List<Violation> getViolations() {
+        return safe.getViolations();
+    }
+
+    /**
+     * @return last verified row
+     */
+    public Integer getLastVerifiedRow() {
+        return safe.getLastVerifiedRow();
+    }
+
+    /**
+     * @return  last verified column
+     */
+    public Integer getLastVerifiedColumn() {
+        return safe.getLastVerifiedColumn();
+    }
+
+    /**
+     * Changed grid to display a solution of the safe
+     */
+    public void changeGridToDisplaySolution(){
+        cancelSolving();
+        if (solutionLasers == null && !unsolvable) {
+            keepSolution(search(solutionSearch(), null, null));
+        }
+        showSolution();
+    }
+
+    /**
+     * Changes grid to display a solution of the safe, solving it in the background if it
+     * was not solved yet. Progress reports and the solution are handed to the observers
+     * through callbacks, e.g. Platform::runLater for a JavaFX view.
+     * @param callbacks - runs every change of the model made by the search
+     * @return completes with true once a solution is displayed, or false if there is none
+     */
+    public CompletableFuture<Boolean> changeGridToDisplaySolutionAsync(Executor callbacks) {
+        cancelSolving();
+        if (solutionLasers != null || unsolvable) {
+            showSolution();
+            return CompletableFuture.completedFuture(solutionLasers != null);
+        }
+        return runInBackground(solutionSearch(), callbacks, solved -> {
+            keepSolution(solved);
+            showSolution();
+            return solutionLasers != null;
+        });
+    }
+
+    /**
+     * Places the lasers of the cached solution on an empty board
+     */
+    private void showSolution() {
+        safe.reset();
+        if (solutionLasers != null) {
+            message = fileName + " solved!";
+            // place the lasers through the safe so its beam coverage stays up to date
+            for (int cell = 0; cell < solutionLasers.length; cell++) {
+                if (solutionLasers[cell]) {
+                    safe.Add(cell / safe.getNumberOfColumns(), cell % safe.getNumberOfColumns());
+                }
+            }
+            refillHints();
+        } else {
+            message = fileName + " has no solution!";
+
+        }
+        announceChange();
+    }
+
+    /**
+     * Places one more right laser if the current grid is part of solution path. While every
+     * laser on the board is part of the cached solution, the next one is taken from it;
+     * otherwise the safe is solved again from the lasers placed so far.
+     */
+    public void placeOneRightLaser() {
+        cancelSolving();
+        if (solutionLasers == null || wrongLasers > 0) {
+            Safe solved = search(hintSearch(), null, null);
+            if (solved != null) {
+                cacheSolution(solved);
+            }
+        }
+        giveHint();
+    }
+
+    /**
+     * Places one more right laser like placeOneRightLaser, solving in the background when
+     * the cached solution cannot be used. Progress reports and the hint are handed to the
+     * observers through callbacks, e.g. Platform::runLater for a JavaFX view.
+     * @param callbacks - runs every change of the model made by the search
+     * @return completes with true once a laser is placed, or false if there is no next step
+     */
+    public CompletableFuture<Boolean> placeOneRightLaserAsync(Executor callbacks) {
+        cancelSolving();
+        if (solutionLasers != null && wrongLasers == 0) {
+            return CompletableFuture.completedFuture(giveHint());
+        }
+        return runInBackground(hintSearch(), callbacks, solved -> {
+            if (solved != null) {
+                cacheSolution(solved);
+            }
+            return giveHint();
+        });
+    }
+
+    /**
+     * Stops the background search, if any. Its result is thrown away.
+     */
+    public void cancelSolving() {
+        if (running != null) {
+            running.cancel(false);
+            running = null;
+            message = "Solving cancelled";
+            announceChange();
+        }
+    }
+
+    /**
+     * Places the next laser of the cached solution, if the board is still on it
+     * @return true if a laser was placed
+     */
+    private boolean giveHint() {
+        int answer = solutionLasers != null && wrongLasers == 0 ? nextHint() : -1;
+        if (answer >= 0){
+            int row = answer / safe.getNumberOfColumns();
+            int column = answer % safe.getNumberOfColumns();
+            safe.Add(row, column);
+            message = "Hint: added laser to (" + row + ", " + column + ")";
+        } else {
+            message = "Hint: no next step!";
+        }
+        announceChange();
+        return answer >= 0;
+    }
+
+    /**
+     * @return the search for a solution from the empty board
+     */
+    private Configuration solutionSearch() {
+        Safe start = new Safe(safe);
+        start.reset();
+        return new PropagatingSafeConfig(start, cellOrder);
+    }
+
+    /**
+     * @return the search for a solution that keeps the lasers placed so far
+     */
+    private Configuration hintSearch() {
+        return new SafeConfig(new Safe(safe), cellOrder);
+    }
+
+    /**
+     * Keeps the result of a search for a solution from the empty board
+     * @param solved - the solution, or null if there is none
+     */
+    private void keepSolution(Safe solved) {
+        if (solved != null) {
+            cacheSolution(solved);
+        } else {
+            unsolvable = true;
+        }
+    }
+
+    /**
+     * Starts a search on the solver thread. The model is only changed through the callbacks,
+     * and not at all once the search is cancelled.
+     * @param start - the configuration to search from
+     * @param callbacks - runs every change of the model made by the search
+     * @param finish - uses the solution, or null if there is none, once the search is over
+     * @return completes with the result of finish, or with the exception if the search fails
+     */
+    private CompletableFuture<Boolean> runInBackground(Configuration start, Executor callbacks,
+                                                       Function<Safe, Boolean> finish) {
+        CompletableFuture<Boolean> task = new CompletableFuture<Boolean>();
+        running = task;
+        solver.execute(() -> {
+            try {
+                Safe solved = search(start, task, callbacks);
+                callbacks.execute(() -> {
+                    if (!task.isCancelled()) {
+                        running = null;
+                        task.complete(finish.apply(solved));
+                    }
+                });
+            } catch (RuntimeException e) {
+                callbacks.execute(() -> {
+                    if (!task.isCancelled()) {
+                        // the search is over, so a new one may start
+                        running = null;
+                        message = "Solving failed: " + e;
+                        announceChange();
+                    }
+                    task.completeExceptionally(e);
+                });
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Searches for a solution. A background search runs in slices, reporting its progress
+     * to the observers after each one and stopping once it is cancelled.
+     * @param start - the configuration to search from
+     * @param task - the background search, or null to search in one go
+     * @param callbacks - runs the progress reports, only used with a task
+     * @return the solved safe, or null if there is no solution or the search was cancelled
+     */
+    private Safe search(Configuration start, CompletableFuture<Boolean> task, Executor callbacks) {
+        IterativeBacktracker search = new IterativeBacktracker(start, false, deadEnds);
+        IterativeBacktracker.Status status;
+        while ((status = search.run(task == null ? Long.MAX_VALUE : SLICE)) == IterativeBacktracker.Status.PAUSED) {
+            if (task.isCancelled()) {
+                return null;
+            }
+            SolveProgress progress = new SolveProgress(search.getNodesExplored(), search.getDepth());
+            callbacks.execute(() -> {
+                if (!task.isCancelled()) {
+                    message = progress.toString();
+                    setChanged();
+                    notifyObservers(progress);
+                }
+            });
+        }
+        if (status != IterativeBacktracker.Status.FOUND) {
+            return null;
+        }
+        Configuration goal = search.getGoal();
+        if (goal instanceof PropagatingSafeConfig) {
+            return ((PropagatingSafeConfig) goal).getSafe();
+        }
+        return new Safe(((SafeConfig) goal).getSafe());
+    }
+
+    /**
+     * Resets safe
+     */
+    public void reset() {
+        cancelSolving();
+        safe.reset();
+        if (solutionLasers != null) {
+            refillHints();
+        }
+        message = fileName + " has been reset";
+        announceChange();
+    }
+
+    /**
+     * Changes safe to another one from the given file
+     * @param filename - name of the file
+     * @param file - the file in question
+     * @throws FileNotFoundException
+     */
+    public void changeSafe(String filename, File file) throws FileNotFoundException{
+        cancelSolving();
+        this.fileName = filename;
+        this.safeIsChanged = true;
+        this.message = filename + " loaded";
+        this.safe = new Safe(file);
+        this.solutionLasers = null;
+        this.unsolvable = false;
+        this.hints = null;
+        this.wrongLasers = 0;
+        this.deadEnds = new DeadEndCache(DEAD_ENDS);
+        announceChange();
+    }
+
+    /**
+     * Keeps the lasers of a solution for the next hints
+     * @param solved - a solved safe
+     */
+    private void cacheSolution(Safe solved) {
+        solutionLasers = new boolean[safe.getNumberOfRows() * safe.getNumberOfColumns()];
+        for (int cell = 0; cell < solutionLasers.length; cell++) {
+            solutionLasers[cell] = solved.getGrid()[cell / safe.getNumberOfColumns()]
+                    [cell % safe.getNumberOfColumns()] == Safe.LASER;
+        }
+        refillHints();
+    }
+
+    /**
+     * Compares the whole board with the cached solution: which of its lasers are missing
+     * and how many lasers are not part of it
+     */
+    private void refillHints() {
+        hints = new ArrayDeque<Integer>();
+        wrongLasers = 0;
+        for (int cell = 0; cell < solutionLasers.length; cell++) {
+            boolean laser = isLaser(cell / safe.getNumberOfColumns(), cell % safe.getNumberOfColumns());
+            if (solutionLasers[cell] && !laser) {
+                hints.addLast(cell);
+            } else if (!solutionLasers[cell] && laser) {
+                wrongLasers++;
+            }
+        }
+    }
+
+    /**
+     * Takes the next laser of the cached solution that is not on the board yet. Cells the
+     * user filled in since are dropped on the way, so every cell is only passed once.
+     * @return index of the cell, or -1 if the solution is complete
+     */
+    private int nextHint() {
+        while (!hints.isEmpty()) {
+            int cell = hints.pollFirst();
+            if (!isLaser(cell / safe.getNumberOfColumns(), cell % safe.getNumberOfColumns())) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return true if the cell is on the board and holds a laser
+     */
+    private boolean isLaser(int row, int column) {
+        return row >= 0 && column >= 0 && row < safe.getNumberOfRows() && column < safe.getNumberOfColumns() &&
+                safe.getGrid()[row][column] == Safe.LASER;
+    }
+
+    /**
+     * @return order in which the solver decides the cells
+     */
+    public CellOrder getCellOrder() {
+        return cellOrder;
+    }
+
+    /**
+     * Changes the order in which the solver decides the cells
+     * @param cellOrder - ROW_MAJOR, or MOST_CONSTRAINED to decide the cell with the fewest options first
+     */
+    public void setCellOrder(CellOrder cellOrder) {
+        this.cellOrder = cellOrder;
+    }
+
+    /**
+     * @return Safe instance
+     */
+    public Safe getSafe(){
+        return safe;
+    }
+
+
+}
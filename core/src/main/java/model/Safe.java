@@ -0,0 +1,492 @@
+package model;
+
+/**
+ * File: Safe.java
+ */
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+
+/**
+ * Class that represents a safe. It includes all operations and states.
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class Safe {
+    // CONSTANTS
+    /** A horizontal divider */
+    public final static char HORI_DIVIDE = '-';
+    /** A vertical divider */
+    public final static char VERT_DIVIDE = '|';
+    /** A laser */
+    public final static char LASER = 'L';
+    /** A laser beam */
+    public final static char LASER_BEAM = '*';
+    /** A pillar that can have any number of adjacent lasers, including none */
+    public final static char X = 'X';
+    /** A pillar that requires zero adjacent lasers */
+    public final static char ZERO = '0';
+    /** A pillar that requires one adjacent laser */
+    public final static char ONE = '1';
+    /** A pillar that requires two adjacent lasers */
+    public final static char TWO = '2';
+    /** A pillar that requires three adjacent lasers */
+    public final static char THREE = '3';
+    /** A pillar that requires four adjacent lasers */
+    public final static char FOUR = '4';
+    /** An empty tile */
+    public final static char EMPTY = '.';
+
+    // Private states
+    /** 2D array that represents a safe */
+    private char[][] grid;
+    /** Number of rows in the safe */
+    private int numberOfRows;
+    /** Number of columns in the safe */
+    private int numberOfColumns;
+    /** Row coordinate of last verified method */
+    private Integer lastVerifiedRow;
+    /** Column coordinate of last verified method */
+    private Integer lastVerifiedColumn;
+    /** Open segments of the safe, shared between copies */
+    private SegmentIndex segments;
+    /** Number of lasers in every horizontal segment */
+    private int[] horizontalLasers;
+    /** Number of lasers in every vertical segment */
+    private int[] verticalLasers;
+    /** Cells that keep the safe from being verified, in row-major order, kept up to date by every move */
+    private BitSet violations;
+    /** Number of cells in violations */
+    private int numberOfViolations;
+    /** Message that displays state of a safe */
+    private String message;
+    /** Row of the last placed laser */
+    private Integer RowOfLastPlacedLaser;
+    /** Column of the last placed laser */
+    private Integer ColumnOfLastPlacedLaser;
+
+    /**
+     * Constructs a safe using data from a text file.
+     * @param filename is the name of the (extant) text file representing the safe layout.
+     * @throws FileNotFoundException if the file does not exist in the directory.
+     * @throws SafeFormatException if the file does not hold a safe, with the line and column.
+     */
+    public Safe(String filename) throws FileNotFoundException {
+        this(new File(filename));
+    }
+
+    /**
+     * Constructs a safe using data from a text file, or from a binary .safe file.
+     * @param file is the  file representing the safe layout.
+     * @throws FileNotFoundException if the file does not exist in the directory.
+     * @throws SafeFormatException if the file does not hold a safe, with the line and column.
+     */
+    public Safe(File file) throws FileNotFoundException {
+        this(SafeParser.parse(file), false);
+    }
+
+    /**
+     * Constructs a safe from an already built grid. The grid is copied, so the caller
+     * may keep using its array.
+     * @param grid is the 2D array representing the safe layout.
+     */
+    public Safe(char[][] grid) {
+        this(grid, true);
+    }
+
+    /**
+     * Constructs a safe from a grid.
+     * @param grid is the 2D array representing the safe layout.
+     * @param copy is false if the safe may keep the array itself, e.g. it was just parsed.
+     */
+    Safe(char[][] grid, boolean copy) {
+        lastVerifiedRow = null;
+        lastVerifiedColumn = null;
+        RowOfLastPlacedLaser = null;
+        ColumnOfLastPlacedLaser = null;
+        this.numberOfRows = grid.length;
+        this.numberOfColumns = grid.length == 0 ? 0 : grid[0].length;
+        if (copy) {
+            this.grid = new char[numberOfRows][numberOfColumns];
+            for (int i = 0; i < numberOfRows; i++) {
+                System.arraycopy(grid[i], 0, this.grid[i], 0, numberOfColumns);
+            }
+        } else {
+            this.grid = grid;
+        }
+        initSegments();
+    }
+
+    /**
+     * Creates a deep copy of the Safe
+     * @param other
+     */
+    public Safe (Safe other){
+        grid = new char[other.getNumberOfRows()][other.getNumberOfColumns()];
+        for (int i = 0; i < other.numberOfRows; i++) {
+            System.arraycopy(other.grid[i], 0, this.grid[i], 0, other.getNumberOfColumns());
+        }
+        segments = other.segments;
+        horizontalLasers = other.horizontalLasers.clone();
+        verticalLasers = other.verticalLasers.clone();
+        violations = (BitSet) other.violations.clone();
+        numberOfViolations = other.numberOfViolations;
+        this.numberOfRows = other.numberOfRows;
+        this.numberOfColumns = other.numberOfColumns;
+        this.lastVerifiedColumn = other.getLastVerifiedColumn();
+        this.lastVerifiedRow = other.getLastVerifiedRow();
+        this.message = other.message;
+        this.RowOfLastPlacedLaser = other.getRowOfLastPlacedLaser();
+        this.ColumnOfLastPlacedLaser = other.getColumnOfLastPlacedLaser();
+    }
+
+    /**
+     * Returns a user-friendly string displaying the safe layout.
+     * @return a String representation of our safe-puzzle, drawn by SafeRenderer.
+     */
+    public String toString() {
+        return SafeRenderer.toString(this);
+    }
+
+    /**
+     * Either adds a laser to our puzzle or changes a message to one that the
+     * laser cannot be added.
+     * @param row is the row of the laser we're adding.
+     * @param column is the column of that same laser we're adding.
+     */
+    public void Add (int row, int column) {
+        if ((row < 0 || column < 0) || (row >= numberOfRows || column >= numberOfColumns) ||
+                isPillar(grid[row][column]) || grid[row][column] == LASER) {
+            message = "Error adding laser at: (" + row + ", " + column + ")";
+        } else {
+            grid[row][column] = LASER;
+            RowOfLastPlacedLaser = row;
+            ColumnOfLastPlacedLaser = column;
+            // Light the row and column segments of the laser
+            horizontalLasers[segments.horizontal(row, column)]++;
+            verticalLasers[segments.vertical(row, column)]++;
+            paintHorizontal(segments.horizontal(row, column));
+            paintVertical(segments.vertical(row, column));
+            checkPillarsNearby(row, column);
+            message = "Laser added at: (" + row + ", " + column + ")";
+        }
+    }
+    /**
+     *  Verifies that the safe is either valid or invalid, and changes message to
+     *  user feedback showing where the safe becomes invalid or that
+     *  the safe is indeed valid. The cells in violation are kept up to date as
+     *  lasers are added and removed, so nothing is rescanned here.
+     */
+    public void Verify () {
+        int first = violations.nextSetBit(0);
+        if (first < 0) {
+            message = ("Safe is fully verified!");
+        } else {
+            lastVerifiedRow = first / numberOfColumns;
+            lastVerifiedColumn = first % numberOfColumns;
+            message = ("Error verifying at: (" + lastVerifiedRow + ", " + lastVerifiedColumn + ")");
+        }
+    }
+
+    /**
+     * @return every cell that keeps the safe from being verified, in row-major order.
+     */
+    public List<Violation> getViolations() {
+        List<Violation> result = new ArrayList<Violation>(numberOfViolations);
+        for (int index = violations.nextSetBit(0); index >= 0; index = violations.nextSetBit(index + 1)) {
+            int row = index / numberOfColumns;
+            int column = index % numberOfColumns;
+            Violation.Kind kind;
+            if (grid[row][column] == LASER) {
+                kind = Violation.Kind.LASER_CONFLICT;
+            } else if (isPillar(grid[row][column])) {
+                kind = Violation.Kind.PILLAR_COUNT;
+            } else {
+                kind = Violation.Kind.UNCOVERED_CELL;
+            }
+            result.add(new Violation(row, column, kind));
+        }
+        return result;
+    }
+
+    /**
+     * @return number of cells that keep the safe from being verified, zero once it is solved.
+     */
+    public int getNumberOfViolations() {
+        return numberOfViolations;
+    }
+
+    /**
+     * Checks whether a cell holds a pillar, e.g. a beam stops there and no laser can be placed.
+     * @param cell is the content of the cell.
+     * @return true if the cell is an X or a numbered pillar.
+     */
+    public static boolean isPillar(char cell) {
+        return cell == X || cell == ZERO || cell == ONE || cell == TWO || cell == THREE || cell == FOUR;
+    }
+
+    /**
+     * Helper function which checks the amount of lasers near a pillar's location.
+     * @param row is the row of a pillar.
+     * @param column is the column of that same pillar.
+     * @return an integer representing the amount of lasers adjacent to the pillar.
+     */
+    public int numberOfLasersNearby(int row, int column) {
+        int adjacent = 0;
+        if (column > 0) { // We're not at the left edge, so check one space left
+            if (grid[row][column - 1] == LASER)
+                adjacent++;
+        }
+        if (column < numberOfColumns - 1) { // We're not at the right edge, so check one space right
+            if (grid[row][column + 1] == LASER)
+                adjacent++;
+        }
+        if (row > 0) { // We're not at the top edge, so check one space above
+            if (grid[row - 1][column] == LASER)
+                adjacent++;
+        }
+        if (row < numberOfRows - 1) { // We're not at the bottom edge, so check one space below
+            if (grid[row + 1][column] == LASER)
+                adjacent++;
+        }
+        return adjacent;
+    }
+
+    /**
+     * Removes a laser at a specified location OR shows that there
+     * exists no laser at said location.
+     * @param row is the row of the laser to remove.
+     * @param column is the column of the laser to remove.
+     */
+    public void Remove(int row, int column) {
+        if (row < 0 || column < 0 || row > (numberOfRows - 1) || column > (numberOfColumns - 1)
+                || grid[row][column] != LASER) {
+            message = ("Error removing laser at: (" + row + ", " + column + ")");
+        } else {
+            // Take the laser out of its segments; only cells no other laser sees go dark
+            horizontalLasers[segments.horizontal(row, column)]--;
+            verticalLasers[segments.vertical(row, column)]--;
+            grid[row][column] = EMPTY;
+            paintHorizontal(segments.horizontal(row, column));
+            paintVertical(segments.vertical(row, column));
+            checkPillarsNearby(row, column);
+            message = ("Laser removed at: (" + row + ", " + column + ")");
+        }
+    }
+
+    /**
+     * Checks whether a laser other than the one in the cell is in the same row or column
+     * segment, e.g. there is no pillar between them.
+     * @param row is the row of the cell.
+     * @param column is the column of the cell.
+     * @return true if the cell can see another laser.
+     */
+    public boolean seesLaser(int row, int column) {
+        if (isPillar(grid[row][column])) {
+            return false;
+        }
+        int self = grid[row][column] == LASER ? 1 : 0;
+        return horizontalLasers[segments.horizontal(row, column)] > self ||
+                verticalLasers[segments.vertical(row, column)] > self;
+    }
+
+    /**
+     * Repaints the cells of a horizontal segment: every cell but a laser is a beam when
+     * some laser sees it, and empty otherwise.
+     * @param segment is the horizontal segment.
+     */
+    private void paintHorizontal(int segment) {
+        int row = segments.horizontalStart(segment) / numberOfColumns;
+        int first = segments.horizontalStart(segment) % numberOfColumns;
+        int last = segments.horizontalEnd(segment) % numberOfColumns;
+        boolean lit = horizontalLasers[segment] > 0;
+        for (int j = first; j <= last; j++) {
+            if (grid[row][j] != LASER) {
+                grid[row][j] = lit || verticalLasers[segments.vertical(row, j)] > 0 ? LASER_BEAM : EMPTY;
+            }
+            checkCell(row, j);
+        }
+    }
+
+    /**
+     * Repaints the cells of a vertical segment, like paintHorizontal.
+     * @param segment is the vertical segment.
+     */
+    private void paintVertical(int segment) {
+        int column = segments.verticalStart(segment) % numberOfColumns;
+        int first = segments.verticalStart(segment) / numberOfColumns;
+        int last = segments.verticalEnd(segment) / numberOfColumns;
+        boolean lit = verticalLasers[segment] > 0;
+        for (int i = first; i <= last; i++) {
+            if (grid[i][column] != LASER) {
+                grid[i][column] = lit || horizontalLasers[segments.horizontal(i, column)] > 0 ? LASER_BEAM : EMPTY;
+            }
+            checkCell(i, column);
+        }
+    }
+
+    /**
+     * Marks whether a cell keeps the safe from being verified: an empty cell, a laser that
+     * sees another laser, or a numbered pillar with the wrong number of lasers around it.
+     * @param row is the row of the cell.
+     * @param column is the column of the cell.
+     */
+    private void checkCell(int row, int column) {
+        char cell = grid[row][column];
+        boolean violated;
+        if (cell == EMPTY) {
+            violated = true;
+        } else if (cell == LASER) {
+            violated = seesLaser(row, column);
+        } else if (cell >= ZERO && cell <= FOUR) {
+            violated = numberOfLasersNearby(row, column) != cell - ZERO;
+        } else {
+            violated = false;
+        }
+        int index = row * numberOfColumns + column;
+        if (violated != violations.get(index)) {
+            violations.flip(index);
+            numberOfViolations += violated ? 1 : -1;
+        }
+    }
+
+    /**
+     * Checks the numbered pillars next to a cell whose laser was added or removed.
+     * @param row is the row of the cell.
+     * @param column is the column of the cell.
+     */
+    private void checkPillarsNearby(int row, int column) {
+        if (column > 0 && isPillar(grid[row][column - 1])) {
+            checkCell(row, column - 1);
+        }
+        if (column < numberOfColumns - 1 && isPillar(grid[row][column + 1])) {
+            checkCell(row, column + 1);
+        }
+        if (row > 0 && isPillar(grid[row - 1][column])) {
+            checkCell(row - 1, column);
+        }
+        if (row < numberOfRows - 1 && isPillar(grid[row + 1][column])) {
+            checkCell(row + 1, column);
+        }
+    }
+
+    /**
+     * Builds the segment index and counts the lasers of every segment, then lights the
+     * segments that have lasers and marks every cell in violation.
+     */
+    private void initSegments() {
+        segments = new SegmentIndex(grid);
+        violations = new BitSet(numberOfRows * numberOfColumns);
+        numberOfViolations = 0;
+        horizontalLasers = new int[segments.numberOfHorizontal()];
+        verticalLasers = new int[segments.numberOfVertical()];
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                if (grid[i][j] == LASER) {
+                    horizontalLasers[segments.horizontal(i, j)]++;
+                    verticalLasers[segments.vertical(i, j)]++;
+                }
+            }
+        }
+        for (int segment = 0; segment < horizontalLasers.length; segment++) {
+            if (horizontalLasers[segment] > 0) {
+                paintHorizontal(segment);
+            }
+        }
+        for (int segment = 0; segment < verticalLasers.length; segment++) {
+            if (verticalLasers[segment] > 0) {
+                paintVertical(segment);
+            }
+        }
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                checkCell(i, j);
+            }
+        }
+    }
+
+    /**
+     * @return the open segments of the safe
+     */
+    public SegmentIndex getSegments() {
+        return segments;
+    }
+
+    /**
+     * Resets safe, e.g. removes all lasers
+     */
+    public void reset() {
+        for (int i = 0; i < numberOfRows; i++ ) {
+            for (int j =0; j < numberOfColumns; j++) {
+                if (grid[i][j] == LASER) {
+                    this.Remove(i,j);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return String message
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return number of rows in the safe
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @return number of columns in the safe
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * @return 2D array, e.g. grid
+     */
+    public char[][] getGrid(){
+        return grid;
+    }
+
+    /**
+     * Resets last verified coordinates
+     */
+    public void resetVerifyCoordinates() {
+        lastVerifiedColumn = null;
+        lastVerifiedRow = null;
+    }
+
+    /**
+     * @return last verified row
+     */
+    public Integer getLastVerifiedRow() {
+        return lastVerifiedRow;
+    }
+
+    /**
+     * @return last verified column
+     */
+    public Integer getLastVerifiedColumn() {
+        return lastVerifiedColumn;
+    }
+
+    /**
+     * @return row of last placed laser
+     */
+    public Integer getRowOfLastPlacedLaser() {return RowOfLastPlacedLaser;}
+
+    /**
+     * @return column of last placed laser
+     */
+    public Integer getColumnOfLastPlacedLaser() {return ColumnOfLastPlacedLaser;}
+
+}
@@ -0,0 +1,60 @@
+package model;
+
+/**
+ * File: SafeFormatException.java
+ */
+
+/**
+ * Thrown when a safe file does not hold a safe, with where the problem is.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeFormatException extends IllegalArgumentException {
+
+    /** Version of the serialized form */
+    private static final long serialVersionUID = 1L;
+
+    /** Line of the problem, from 1, or 0 in a binary file */
+    private final int line;
+    /** Column of the problem, from 1, or 0 in a binary file */
+    private final int column;
+
+    /**
+     * @param source - name of the file
+     * @param line - line of the problem, from 1
+     * @param column - column of the problem, from 1
+     * @param problem - what is wrong there
+     */
+    public SafeFormatException(String source, int line, int column, String problem) {
+        super(source + ":" + line + ":" + column + ": " + problem);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * A problem in a binary .safe file, which has no lines.
+     * @param source - name of the file
+     * @param offset - offset of the problem in bytes, from 0
+     * @param problem - what is wrong there
+     */
+    public SafeFormatException(String source, long offset, String problem) {
+        super(source + ": byte " + offset + ": " + problem);
+        this.line = 0;
+        this.column = 0;
+    }
+
+    /**
+     * @return line of the problem, from 1, or 0 in a binary file
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return column of the problem, from 1, or 0 in a binary file
+     */
+    public int getColumn() {
+        return column;
+    }
+}
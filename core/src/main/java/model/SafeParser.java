@@ -0,0 +1,211 @@
+package model;
+
+/**
+ * File: SafeParser.java
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a safe file: the number of rows and of columns, then every cell as
+ * one character, separated by whitespace. Anything after the last cell is
+ * ignored, e.g. a drawing of the solution.
+ *
+ * The file is mapped into memory and read byte by byte, so the cells go
+ * straight into the grid without a String or a regular expression per cell.
+ * A file that does not hold a safe is reported with the line and the column
+ * of the first problem, and a header larger than the file can hold is caught
+ * before the grid is allocated. A binary .safe file is recognised by its first bytes
+ * and handed to BinarySafeReader.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+final class SafeParser {
+
+    /** What the file holds */
+    private final ByteBuffer in;
+    /** Name of the file, for the error messages */
+    private final String source;
+    /** Line of the next byte, from 1 */
+    private int line = 1;
+    /** Column of the next byte, from 1 */
+    private int column = 1;
+
+    /**
+     * @param in - what the file holds
+     * @param source - name of the file, for the error messages
+     */
+    SafeParser(ByteBuffer in, String source) {
+        this.in = in;
+        this.source = source;
+    }
+
+    /**
+     * Reads a safe file.
+     * @param file - the safe file
+     * @return the grid of the safe, one array per row
+     * @throws FileNotFoundException if the file does not exist or cannot be opened
+     * @throws SafeFormatException if the file does not hold a safe
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    static char[][] parse(File file) throws FileNotFoundException {
+        try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (BinarySafeReader.isBinary(bytes)) {
+                return new BinarySafeReader(bytes, file.getPath()).readGrid(false);
+            }
+            return new SafeParser(bytes, file.getPath()).parse();
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the grid of the safe, one array per row
+     * @throws SafeFormatException if the bytes do not hold a safe
+     */
+    char[][] parse() {
+        skipWhitespace();
+        int headerLine = line;
+        int headerColumn = column;
+        int rows = readSize("number of rows");
+        int columns = readSize("number of columns");
+        // every cell but the last takes a byte and a space, so a header too large for the
+        // file is caught before the grid is allocated
+        long needed = 2L * rows * columns - 1;
+        if (in.remaining() < needed) {
+            throw new SafeFormatException(source, headerLine, headerColumn, "expected at least " + needed +
+                    " more bytes for a " + rows + "x" + columns + " safe, found " + in.remaining());
+        }
+        char[][] grid = new char[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                grid[i][j] = readCell(i, j);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @param what - what the number is, for the error message
+     * @return the next number, at least 1
+     */
+    private int readSize(String what) {
+        skipWhitespace();
+        int startLine = line;
+        int startColumn = column;
+        if (!in.hasRemaining() || !isDigit(peek())) {
+            throw problem("expected the " + what + ", found " + describeNext());
+        }
+        long size = 0;
+        while (in.hasRemaining() && isDigit(peek())) {
+            size = size * 10 + (next() - '0');
+            if (size > Integer.MAX_VALUE) {
+                throw new SafeFormatException(source, startLine, startColumn, "the " + what + " is too large");
+            }
+        }
+        if (in.hasRemaining() && !isWhitespace(peek())) {
+            throw problem("expected a space after the " + what + ", found " + describeNext());
+        }
+        if (size == 0) {
+            throw new SafeFormatException(source, startLine, startColumn, "the " + what + " must be at least 1");
+        }
+        return (int) size;
+    }
+
+    /**
+     * @param row - row of the cell, for the error message
+     * @param col - column of the cell, for the error message
+     * @return the next cell
+     */
+    private char readCell(int row, int col) {
+        skipWhitespace();
+        if (!in.hasRemaining()) {
+            throw problem("expected the cell (" + row + ", " + col + "), found the end of the file");
+        }
+        char cell = (char) (peek() & 0xff);
+        if (cell != Safe.EMPTY && cell != Safe.LASER && !Safe.isPillar(cell)) {
+            throw problem("expected the cell (" + row + ", " + col + ") to be one of . X 0 1 2 3 4 L, found " +
+                    describeNext());
+        }
+        next();
+        if (in.hasRemaining() && !isWhitespace(peek())) {
+            throw problem("expected a space after the cell (" + row + ", " + col + "), found " + describeNext());
+        }
+        return cell;
+    }
+
+    /**
+     * Moves past spaces, tabs and line breaks.
+     */
+    private void skipWhitespace() {
+        while (in.hasRemaining() && isWhitespace(peek())) {
+            next();
+        }
+    }
+
+    /**
+     * @return the next byte, without moving past it
+     */
+    private byte peek() {
+        return in.get(in.position());
+    }
+
+    /**
+     * @return the next byte, keeping track of its line and column
+     */
+    private byte next() {
+        byte b = in.get();
+        if (b == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+        return b;
+    }
+
+    /**
+     * @return the next byte, as it goes in an error message
+     */
+    private String describeNext() {
+        if (!in.hasRemaining()) {
+            return "the end of the file";
+        }
+        int b = peek() & 0xff;
+        return b >= ' ' && b < 0x7f ? "'" + (char) b + "'" : String.format("byte 0x%02x", b);
+    }
+
+    /**
+     * @param what - what is wrong at the next byte
+     * @return the exception to throw
+     */
+    private SafeFormatException problem(String what) {
+        return new SafeFormatException(source, line, column, what);
+    }
+
+    /**
+     * @param b - a byte
+     * @return true if it is a digit
+     */
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * @param b - a byte
+     * @return true if it separates tokens
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+}
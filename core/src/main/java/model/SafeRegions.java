@@ -0,0 +1,230 @@
+package model;
+
+/**
+ * File: SafeRegions.java
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a safe into regions that cannot interact. Two open cells interact
+ * when they share a segment, since a laser in one lights the other, or when
+ * they are next to the same numbered pillar, since they count for it. Beams
+ * stop at pillars and an X constrains nothing, so the cells joined this way
+ * fall into connected components, found with a union-find over the cells.
+ * A numbered pillar belongs to the region of its neighbours, or is a region
+ * of its own when it has no open neighbour.
+ *
+ * Every region can be taken out as a safe of its own, the bounding box of its
+ * cells with every other cell turned into an X, and solved apart from the
+ * others. The solutions of all the regions merge back into a solution of the
+ * whole safe, and the safe has as many solutions as the product of the
+ * counts of its regions.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeRegions {
+
+    /** The safe that was split */
+    private final Safe safe;
+    /** Region of every cell, in row-major order, -1 for an X */
+    private final int[] regions;
+    /** Number of regions */
+    private final int numberOfRegions;
+    /** Number of cells in every region */
+    private final int[] sizes;
+    /** Top row, left column, bottom row and right column of every region */
+    private final int[][] bounds;
+
+    /**
+     * Splits a safe.
+     * @param safe - the safe, left unchanged
+     */
+    public SafeRegions(Safe safe) {
+        this.safe = safe;
+        char[][] grid = safe.getGrid();
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        int[] parents = new int[rows * columns];
+        for (int index = 0; index < parents.length; index++) {
+            parents[index] = index;
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int index = i * columns + j;
+                if (!Safe.isPillar(grid[i][j])) {
+                    // the segments: every open cell joins the one before it
+                    if (j > 0 && !Safe.isPillar(grid[i][j - 1])) {
+                        union(parents, index, index - 1);
+                    }
+                    if (i > 0 && !Safe.isPillar(grid[i - 1][j])) {
+                        union(parents, index, index - columns);
+                    }
+                } else if (grid[i][j] != Safe.X) {
+                    // a numbered pillar joins its open neighbours
+                    if (i > 0 && !Safe.isPillar(grid[i - 1][j])) {
+                        union(parents, index, index - columns);
+                    }
+                    if (i < rows - 1 && !Safe.isPillar(grid[i + 1][j])) {
+                        union(parents, index, index + columns);
+                    }
+                    if (j > 0 && !Safe.isPillar(grid[i][j - 1])) {
+                        union(parents, index, index - 1);
+                    }
+                    if (j < columns - 1 && !Safe.isPillar(grid[i][j + 1])) {
+                        union(parents, index, index + 1);
+                    }
+                }
+            }
+        }
+
+        // number the roots in row-major order
+        regions = new int[parents.length];
+        Arrays.fill(regions, -1);
+        int[] numbers = new int[parents.length];
+        Arrays.fill(numbers, -1);
+        int count = 0;
+        for (int index = 0; index < parents.length; index++) {
+            if (grid[index / columns][index % columns] != Safe.X) {
+                int root = find(parents, index);
+                if (numbers[root] < 0) {
+                    numbers[root] = count++;
+                }
+                regions[index] = numbers[root];
+            }
+        }
+        numberOfRegions = count;
+        sizes = new int[count];
+        bounds = new int[count][];
+        for (int index = 0; index < regions.length; index++) {
+            int region = regions[index];
+            if (region < 0) {
+                continue;
+            }
+            int row = index / columns;
+            int column = index % columns;
+            sizes[region]++;
+            if (bounds[region] == null) {
+                bounds[region] = new int[]{row, column, row, column};
+            } else {
+                bounds[region][1] = Math.min(bounds[region][1], column);
+                bounds[region][2] = row;
+                bounds[region][3] = Math.max(bounds[region][3], column);
+            }
+        }
+    }
+
+    /**
+     * @return number of regions
+     */
+    public int getNumberOfRegions() {
+        return numberOfRegions;
+    }
+
+    /**
+     * @param row - row of a cell
+     * @param column - column of the cell
+     * @return its region, or -1 for an X
+     */
+    public int getRegion(int row, int column) {
+        return regions[row * safe.getNumberOfColumns() + column];
+    }
+
+    /**
+     * @param region - a region
+     * @return number of its cells, its numbered pillars included
+     */
+    public int getSize(int region) {
+        return sizes[region];
+    }
+
+    /**
+     * @param region - a region
+     * @return row of the safe where the safe extracted for it starts
+     */
+    public int getTop(int region) {
+        return bounds[region][0];
+    }
+
+    /**
+     * @param region - a region
+     * @return column of the safe where the safe extracted for it starts
+     */
+    public int getLeft(int region) {
+        return bounds[region][1];
+    }
+
+    /**
+     * Takes a region out as a safe of its own.
+     * @param region - the region
+     * @return the bounding box of the region, every cell of another region an X
+     */
+    public Safe extract(int region) {
+        int[] box = bounds[region];
+        char[][] grid = safe.getGrid();
+        int columns = safe.getNumberOfColumns();
+        char[][] part = new char[box[2] - box[0] + 1][box[3] - box[1] + 1];
+        for (int i = box[0]; i <= box[2]; i++) {
+            for (int j = box[1]; j <= box[3]; j++) {
+                part[i - box[0]][j - box[1]] = regions[i * columns + j] == region ? grid[i][j] : Safe.X;
+            }
+        }
+        return new Safe(part, false);
+    }
+
+    /**
+     * Puts the solutions of the regions back together.
+     * @param solutions - a solved safe for every region, in order, as extracted
+     * @return a copy of the safe with the lasers of every solution added
+     */
+    public Safe merge(List<Safe> solutions) {
+        if (solutions.size() != numberOfRegions) {
+            throw new IllegalArgumentException("Expected " + numberOfRegions + " solutions, got " +
+                    solutions.size());
+        }
+        Safe merged = new Safe(safe);
+        char[][] grid = safe.getGrid();
+        for (int region = 0; region < numberOfRegions; region++) {
+            int[] box = bounds[region];
+            char[][] part = solutions.get(region).getGrid();
+            for (int i = 0; i < part.length; i++) {
+                for (int j = 0; j < part[i].length; j++) {
+                    if (part[i][j] == Safe.LASER && grid[box[0] + i][box[1] + j] != Safe.LASER) {
+                        merged.Add(box[0] + i, box[1] + j);
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @param parents - the forest of the union-find
+     * @param index - a cell
+     * @return the root of its tree
+     */
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            // halve the path on the way up
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    /**
+     * Joins the trees of two cells.
+     * @param parents - the forest of the union-find
+     * @param a - a cell
+     * @param b - another cell
+     */
+    private static void union(int[] parents, int a, int b) {
+        int rootA = find(parents, a);
+        int rootB = find(parents, b);
+        if (rootA != rootB) {
+            parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package model;
+
+/**
+ * File: SafeRenderer.java
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Draws a safe as text, the way Safe.toString shows it: a line of column
+ * numbers, a line of dividers, then every row with its number. Every line is
+ * built in a buffer kept between calls and handed to the output in one piece,
+ * so drawing costs time linear in the size of the safe and, for a Writer or a
+ * StringBuilder, allocates nothing once the buffer is large enough.
+ *
+ * The renderer can also draw only what changed, for an ANSI terminal. The first
+ * call clears the screen and draws the whole safe at the top of it; every
+ * later call moves the cursor to the cells that changed since and redraws just
+ * those, then leaves the cursor on the line under the safe with the rest of
+ * the screen cleared, ready for a message.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeRenderer {
+
+    /** Escape character starting every ANSI sequence */
+    private static final char ESCAPE = '\033';
+    /** Lines of the drawing above the first row of the safe */
+    private static final int HEADER_LINES = 2;
+
+    /** One line of the drawing, or one ANSI sequence */
+    private char[] line = new char[0];
+    /** The line as a CharSequence, for any other Appendable */
+    private CharBuffer wrapped = CharBuffer.wrap(line);
+    /** The cells as the terminal shows them, null until drawn in full */
+    private char[][] shown;
+
+    /**
+     * Draws a safe the way Safe.toString shows it.
+     * @param safe is the safe to draw.
+     * @return the drawing, without a newline at the end.
+     */
+    public static String toString(Safe safe) {
+        int columns = safe.getNumberOfColumns();
+        StringBuilder result = new StringBuilder((safe.getNumberOfRows() + HEADER_LINES) * (2 * columns + 3));
+        try {
+            new SafeRenderer().render(safe, result);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Draws a whole safe, without a newline after its last row.
+     * @param safe is the safe to draw.
+     * @param out is where the drawing goes.
+     * @throws IOException if the output fails.
+     */
+    public void render(Safe safe, Appendable out) throws IOException {
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        char[][] grid = safe.getGrid();
+        ensureCapacity(2 * columns + 3);
+
+        // column numbers
+        int length = 0;
+        line[length++] = ' ';
+        line[length++] = ' ';
+        for (int j = 0; j < columns; j++) {
+            line[length++] = (char) ('0' + j % 10);
+            line[length++] = ' ';
+        }
+        line[length++] = '\n';
+        write(out, length);
+
+        // horizontal dividers
+        length = 0;
+        line[length++] = ' ';
+        line[length++] = ' ';
+        for (int j = 0; j <= 2 * columns - 2; j++) {
+            line[length++] = Safe.HORI_DIVIDE;
+        }
+        line[length++] = '\n';
+        write(out, length);
+
+        // every row has its number, a divider, and its cells
+        for (int i = 0; i < rows; i++) {
+            length = 0;
+            line[length++] = (char) ('0' + i % 10);
+            line[length++] = Safe.VERT_DIVIDE;
+            for (int j = 0; j < columns; j++) {
+                line[length++] = grid[i][j];
+                if (j != columns - 1) {
+                    line[length++] = ' ';
+                }
+            }
+            if (i != rows - 1) {
+                line[length++] = '\n';
+            }
+            write(out, length);
+        }
+    }
+
+    /**
+     * Draws what changed in a safe since the last call, with ANSI sequences. The
+     * whole safe is drawn on a cleared screen the first time, after reset, or
+     * when the safe is not the size it was.
+     * @param safe is the safe to draw.
+     * @param out is the terminal.
+     * @throws IOException if the output fails.
+     */
+    public void renderChanges(Safe safe, Appendable out) throws IOException {
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        char[][] grid = safe.getGrid();
+        if (shown == null || shown.length != rows || (rows > 0 && shown[0].length != columns)) {
+            // clear the screen and go to its top left corner
+            ensureCapacity(8);
+            line[0] = ESCAPE;
+            line[1] = '[';
+            line[2] = '2';
+            line[3] = 'J';
+            line[4] = ESCAPE;
+            line[5] = '[';
+            line[6] = 'H';
+            write(out, 7);
+            render(safe, out);
+            shown = new char[rows][columns];
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(grid[i], 0, shown[i], 0, columns);
+            }
+        } else {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    if (grid[i][j] != shown[i][j]) {
+                        moveTo(out, HEADER_LINES + i + 1, 2 * j + 3, grid[i][j]);
+                        shown[i][j] = grid[i][j];
+                    }
+                }
+            }
+        }
+        // under the safe, with the rest of the screen cleared
+        moveTo(out, HEADER_LINES + rows + 1, 1, '\0');
+    }
+
+    /**
+     * Forgets what the terminal shows, so the next renderChanges draws the whole safe.
+     */
+    public void reset() {
+        shown = null;
+    }
+
+    /**
+     * Moves the cursor, then writes a cell there or clears the rest of the screen.
+     * @param out is the terminal.
+     * @param row is the line of the terminal, from 1.
+     * @param column is the column of the terminal, from 1.
+     * @param cell is the cell to write, or '\0' to clear from the cursor on.
+     * @throws IOException if the output fails.
+     */
+    private void moveTo(Appendable out, int row, int column, char cell) throws IOException {
+        ensureCapacity(28);
+        int length = 0;
+        line[length++] = ESCAPE;
+        line[length++] = '[';
+        length = putNumber(row, length);
+        line[length++] = ';';
+        length = putNumber(column, length);
+        line[length++] = 'H';
+        if (cell != '\0') {
+            line[length++] = cell;
+        } else {
+            line[length++] = ESCAPE;
+            line[length++] = '[';
+            line[length++] = 'J';
+        }
+        write(out, length);
+    }
+
+    /**
+     * Puts the digits of a number into the line.
+     * @param number is a positive number.
+     * @param at is where its first digit goes.
+     * @return where the line goes on after it.
+     */
+    private int putNumber(int number, int at) {
+        int digits = 1;
+        for (int rest = number / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int k = at + digits - 1; k >= at; k--) {
+            line[k] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return at + digits;
+    }
+
+    /**
+     * Makes sure the line holds some characters.
+     * @param capacity is the number of characters.
+     */
+    private void ensureCapacity(int capacity) {
+        if (line.length < capacity) {
+            line = new char[Math.max(capacity, 2 * line.length)];
+            wrapped = CharBuffer.wrap(line);
+        }
+    }
+
+    /**
+     * Hands the start of the line to the output.
+     * @param out is where it goes.
+     * @param length is the number of characters.
+     * @throws IOException if the output fails.
+     */
+    private void write(Appendable out, int length) throws IOException {
+        if (out instanceof Writer) {
+            ((Writer) out).write(line, 0, length);
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(line, 0, length);
+        } else {
+            out.append(wrapped, 0, length);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+/**
+ * File: SegmentIndex.java
+ */
+
+import java.util.Arrays;
+
+/**
+ * Splits a safe into open segments: the horizontal and vertical runs of open cells
+ * between pillars and the edges of the safe. A laser lights exactly its horizontal
+ * and its vertical segment, and two lasers see each other when they share one.
+ * Pillars never move once a safe is loaded, so the index is built once and shared
+ * by every copy of the safe.
+ *
+ * Cells are numbered in row-major order, e.g. row * numberOfColumns + column.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SegmentIndex {
+
+    /** Number of rows in the safe */
+    private final int numberOfRows;
+    /** Number of columns in the safe */
+    private final int numberOfColumns;
+    /** Horizontal segment of every cell, -1 for pillars */
+    private final int[] horizontal;
+    /** Vertical segment of every cell, -1 for pillars */
+    private final int[] vertical;
+    /** First cell of every horizontal segment */
+    private final int[] horizontalStart;
+    /** Last cell of every horizontal segment */
+    private final int[] horizontalEnd;
+    /** First (top) cell of every vertical segment */
+    private final int[] verticalStart;
+    /** Last (bottom) cell of every vertical segment */
+    private final int[] verticalEnd;
+
+    /**
+     * Builds the index of a grid.
+     * @param grid - the cells of the safe, only pillars matter
+     */
+    public SegmentIndex(char[][] grid) {
+        numberOfRows = grid.length;
+        numberOfColumns = numberOfRows == 0 ? 0 : grid[0].length;
+        int cells = numberOfRows * numberOfColumns;
+        horizontal = new int[cells];
+        vertical = new int[cells];
+        int[] starts = new int[cells];
+        int[] ends = new int[cells];
+        int count = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < numberOfColumns; j++) {
+                int index = i * numberOfColumns + j;
+                if (Safe.isPillar(grid[i][j])) {
+                    horizontal[index] = -1;
+                } else {
+                    if (j == 0 || Safe.isPillar(grid[i][j - 1])) {
+                        starts[count++] = index;
+                    }
+                    horizontal[index] = count - 1;
+                    ends[count - 1] = index;
+                }
+            }
+        }
+        horizontalStart = Arrays.copyOf(starts, count);
+        horizontalEnd = Arrays.copyOf(ends, count);
+        count = 0;
+        for (int j = 0; j < numberOfColumns; j++) {
+            for (int i = 0; i < numberOfRows; i++) {
+                int index = i * numberOfColumns + j;
+                if (Safe.isPillar(grid[i][j])) {
+                    vertical[index] = -1;
+                } else {
+                    if (i == 0 || Safe.isPillar(grid[i - 1][j])) {
+                        starts[count++] = index;
+                    }
+                    vertical[index] = count - 1;
+                    ends[count - 1] = index;
+                }
+            }
+        }
+        verticalStart = Arrays.copyOf(starts, count);
+        verticalEnd = Arrays.copyOf(ends, count);
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return horizontal segment of the cell, -1 for a pillar
+     */
+    public int horizontal(int row, int column) {
+        return horizontal[row * numberOfColumns + column];
+    }
+
+    /**
+     * @param row - row of the cell
+     * @param column - column of the cell
+     * @return vertical segment of the cell, -1 for a pillar
+     */
+    public int vertical(int row, int column) {
+        return vertical[row * numberOfColumns + column];
+    }
+
+    /**
+     * @param index - row-major index of the cell
+     * @return horizontal segment of the cell, -1 for a pillar
+     */
+    public int horizontalOf(int index) {
+        return horizontal[index];
+    }
+
+    /**
+     * @param index - row-major index of the cell
+     * @return vertical segment of the cell, -1 for a pillar
+     */
+    public int verticalOf(int index) {
+        return vertical[index];
+    }
+
+    /**
+     * @param segment - a horizontal segment
+     * @return index of its leftmost cell
+     */
+    public int horizontalStart(int segment) {
+        return horizontalStart[segment];
+    }
+
+    /**
+     * @param segment - a horizontal segment
+     * @return index of its rightmost cell
+     */
+    public int horizontalEnd(int segment) {
+        return horizontalEnd[segment];
+    }
+
+    /**
+     * @param segment - a vertical segment
+     * @return index of its top cell, the next cells are numberOfColumns apart
+     */
+    public int verticalStart(int segment) {
+        return verticalStart[segment];
+    }
+
+    /**
+     * @param segment - a vertical segment
+     * @return index of its bottom cell
+     */
+    public int verticalEnd(int segment) {
+        return verticalEnd[segment];
+    }
+
+    /**
+     * @return number of horizontal segments
+     */
+    public int numberOfHorizontal() {
+        return horizontalStart.length;
+    }
+
+    /**
+     * @return number of vertical segments
+     */
+    public int numberOfVertical() {
+        return verticalStart.length;
+    }
+
+    /**
+     * @return number of rows in the safe
+     */
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @return number of columns in the safe
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * File: SolveProgress.java
+ */
+
+/**
+ * How far a background search has got. LasersModel passes it to its observers
+ * as the argument of update while it solves, so a view can tell a progress
+ * report apart from a change of the safe.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SolveProgress {
+
+    /** Number of configurations explored so far */
+    private final long nodesExplored;
+    /** Depth of the configuration being explored */
+    private final int depth;
+
+    /**
+     * @param nodesExplored - number of configurations explored so far
+     * @param depth - depth of the configuration being explored
+     */
+    public SolveProgress(long nodesExplored, int depth) {
+        this.nodesExplored = nodesExplored;
+        this.depth = depth;
+    }
+
+    /**
+     * @return number of configurations explored so far
+     */
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * @return depth of the configuration being explored
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return String representation of the progress
+     */
+    public String toString() {
+        return "Solving... " + nodesExplored + " configurations explored, depth " + depth;
+    }
+}
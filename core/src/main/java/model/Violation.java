@@ -0,0 +1,70 @@
+package model;
+
+/**
+ * File: Violation.java
+ */
+
+/**
+ * A cell that keeps a safe from being verified, as listed by Safe.getViolations.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class Violation {
+
+    /**
+     * What is wrong with the cell.
+     */
+    public enum Kind {
+        /** An empty cell no laser lights */
+        UNCOVERED_CELL,
+        /** A laser that sees another laser in its row or column segment */
+        LASER_CONFLICT,
+        /** A numbered pillar without its number of lasers around it */
+        PILLAR_COUNT
+    }
+
+    /** Row of the cell */
+    private final int row;
+    /** Column of the cell */
+    private final int column;
+    /** What is wrong with it */
+    private final Kind kind;
+
+    /**
+     * @param row is the row of the cell.
+     * @param column is the column of the cell.
+     * @param kind is what is wrong with it.
+     */
+    public Violation(int row, int column, Kind kind) {
+        this.row = row;
+        this.column = column;
+        this.kind = kind;
+    }
+
+    /**
+     * @return row of the cell
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return column of the cell
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return what is wrong with the cell
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " at: (" + row + ", " + column + ")";
+    }
+}
@@ -0,0 +1,51 @@
+package backtracking;
+
+/**
+ * File: BacktrackerTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Checks the counting of solutions: every configuration must count the same
+ * solutions, and solveAll must stream each of them once.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BacktrackerTest {
+
+    @ParameterizedTest
+    @CsvSource({"4x4safe.txt, 1", "7x7safe.txt, 1", "8x8safe.txt, 1", "10x8safe.txt, 14", "14x14safe.txt, 1"})
+    void projectSafes(String name, long solutions) throws FileNotFoundException {
+        Safe safe = SafeFixtures.load(name);
+        assertEquals(solutions, new Backtracker(false).countSolutions(new PropagatingSafeConfig(safe),
+                Long.MAX_VALUE), name);
+        assertEquals(solutions, new Backtracker(false).countSolutions(new SafeConfig(safe), Long.MAX_VALUE), name);
+        assertEquals(solutions == 1, new Backtracker(false).hasUniqueSolution(new PropagatingSafeConfig(safe)),
+                name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(10, 200)) {
+            long expected = new Backtracker(false).countSolutions(new SafeConfig(safe), Long.MAX_VALUE);
+            assertEquals(expected, new Backtracker(false).countSolutions(new PropagatingSafeConfig(safe),
+                    Long.MAX_VALUE), "\n" + safe);
+            long distinct = new Backtracker(false).solveAll(new PropagatingSafeConfig(safe))
+                    .map(config -> ((PropagatingSafeConfig) config).getSafe())
+                    .peek(solution -> SafeFixtures.assertVerified(solution, "\n" + safe))
+                    .map(Safe::toString)
+                    .distinct()
+                    .count();
+            assertEquals(expected, distinct, "\n" + safe);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package backtracking;
+
+/**
+ * File: BitSafeConfigTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that BitSafeConfig searches the same tree as SafeConfig: the same
+ * nodes, the same first solution and the same number of solutions.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class BitSafeConfigTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Safe safe = SafeFixtures.load(name);
+        Backtracker plain = new Backtracker(false);
+        Optional<Configuration> expected = plain.solve(new SafeConfig(safe));
+        Backtracker bits = new Backtracker(false);
+        Optional<Configuration> found = bits.solve(new BitSafeConfig(safe));
+        assertEquals(plain.getNodesExplored(), bits.getNodesExplored(), name);
+        Safe solution = ((BitSafeConfig) found.orElseThrow()).getSafe();
+        SafeFixtures.assertVerified(solution, "bits " + name);
+        assertEquals(((SafeConfig) expected.orElseThrow()).getSafe().toString(), solution.toString(), name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(1, 200)) {
+            long expected = new Backtracker(false).countSolutions(new SafeConfig(safe), Long.MAX_VALUE);
+            assertEquals(expected, new Backtracker(false).countSolutions(new BitSafeConfig(safe), Long.MAX_VALUE),
+                    "\n" + safe);
+            Optional<Configuration> found = new Backtracker(false).solve(new BitSafeConfig(safe));
+            assertEquals(expected > 0, found.isPresent(), "\n" + safe);
+            found.ifPresent(config -> SafeFixtures.assertVerified(((BitSafeConfig) config).getSafe(), "\n" + safe));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package backtracking;
+
+/**
+ * File: InPlaceBacktrackerTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that InPlaceBacktracker gives the same answers as Backtracker on
+ * SafeConfig, since both decide the cells in row-major order, laser first.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class InPlaceBacktrackerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Safe safe = SafeFixtures.load(name);
+        Backtracker backtracker = new Backtracker(false);
+        Optional<Configuration> expected = backtracker.solve(new SafeConfig(safe));
+        InPlaceBacktracker inPlace = new InPlaceBacktracker(safe);
+        Safe solution = inPlace.solve().orElseThrow();
+        SafeFixtures.assertVerified(solution, "inplace " + name);
+        assertEquals(((SafeConfig) expected.orElseThrow()).getSafe().toString(), solution.toString(), name);
+        assertEquals(backtracker.getNodesExplored(), inPlace.getNodesExplored(), name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(2, 200)) {
+            Optional<Configuration> expected = new Backtracker(false).solve(new SafeConfig(safe));
+            Optional<Safe> found = new InPlaceBacktracker(safe).solve();
+            assertEquals(expected.isPresent(), found.isPresent(), "\n" + safe);
+            if (found.isPresent()) {
+                SafeFixtures.assertVerified(found.get(), "\n" + safe);
+                assertEquals(((SafeConfig) expected.get()).getSafe().toString(), found.get().toString());
+            }
+        }
+    }
+
+    /**
+     * The given lasers see each other, which is no solution.
+     */
+    @Test
+    void conflictingGivenLasers() {
+        Safe safe = new Safe(new char[][]{
+                {Safe.LASER, Safe.EMPTY, Safe.LASER},
+                {Safe.X, Safe.X, Safe.X}});
+        assertFalse(new InPlaceBacktracker(safe).solve().isPresent());
+    }
+}
@@ -0,0 +1,65 @@
+package backtracking;
+
+/**
+ * File: ParallelBacktrackerTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that ParallelBacktracker finds a solution exactly when Backtracker
+ * does, with and without a shared cache of dead ends.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class ParallelBacktrackerTest {
+
+    /** Shared by the tests, so the pool is started once */
+    private static ParallelBacktracker parallel;
+
+    @BeforeAll
+    static void startPool() {
+        parallel = new ParallelBacktracker(2);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        parallel.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Optional<Configuration> found = parallel.solve(new SafeConfig(SafeFixtures.load(name)));
+        SafeFixtures.assertVerified(((SafeConfig) found.orElseThrow()).getSafe(), "parallel " + name);
+        // the keys of the dead ends only mean something for one safe
+        ParallelBacktracker cached = new ParallelBacktracker(2, new DeadEndCache(1 << 12));
+        try {
+            found = cached.solve(new SafeConfig(SafeFixtures.load(name)));
+            SafeFixtures.assertVerified(((SafeConfig) found.orElseThrow()).getSafe(), "cached " + name);
+        } finally {
+            cached.shutdown();
+        }
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(8, 200)) {
+            boolean expected = new Backtracker(false).solve(new SafeConfig(safe)).isPresent();
+            Optional<Configuration> found = parallel.solve(new SafeConfig(safe));
+            assertEquals(expected, found.isPresent(), "\n" + safe);
+            found.ifPresent(config -> SafeFixtures.assertVerified(((SafeConfig) config).getSafe(), "\n" + safe));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package backtracking;
+
+/**
+ * File: PropagatingSafeConfigTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that the forced moves of PropagatingSafeConfig never lose a
+ * solution nor make up one.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class PropagatingSafeConfigTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Optional<Configuration> found = new Backtracker(false).solve(new PropagatingSafeConfig(SafeFixtures.load(name)));
+        SafeFixtures.assertVerified(((PropagatingSafeConfig) found.orElseThrow()).getSafe(), "propagate " + name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(5, 200)) {
+            boolean expected = new Backtracker(false).solve(new SafeConfig(safe)).isPresent();
+            Optional<Configuration> found = new Backtracker(false).solve(new PropagatingSafeConfig(safe));
+            assertEquals(expected, found.isPresent(), "\n" + safe);
+            found.ifPresent(config ->
+                    SafeFixtures.assertVerified(((PropagatingSafeConfig) config).getSafe(), "\n" + safe));
+        }
+    }
+}
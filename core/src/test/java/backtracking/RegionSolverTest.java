@@ -0,0 +1,62 @@
+package backtracking;
+
+/**
+ * File: RegionSolverTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.math.BigInteger;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that solving the regions of a safe apart gives the answers of
+ * solving the whole safe: the merged board is a solution, and the product of
+ * the counts of the regions is the count of the safe.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class RegionSolverTest {
+
+    /** Shared by the tests, so the pool is started once */
+    private static RegionSolver regions;
+
+    @BeforeAll
+    static void startPool() {
+        regions = new RegionSolver(2);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        regions.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Safe safe = SafeFixtures.load(name);
+        SafeFixtures.assertVerified(regions.solve(safe).orElseThrow(), "regions " + name);
+        long expected = new Backtracker(false).countSolutions(new PropagatingSafeConfig(safe), Long.MAX_VALUE);
+        assertEquals(BigInteger.valueOf(expected), regions.countSolutions(safe), name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(22, 200)) {
+            long expected = new Backtracker(false).countSolutions(new SafeConfig(safe), Long.MAX_VALUE);
+            assertEquals(BigInteger.valueOf(expected), regions.countSolutions(safe), "\n" + safe);
+            Optional<Safe> found = regions.solve(safe);
+            assertEquals(expected > 0, found.isPresent(), "\n" + safe);
+            found.ifPresent(solution -> SafeFixtures.assertVerified(solution, "\n" + safe));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package backtracking;
+
+/**
+ * File: SafeConfigTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that SafeConfig gives the same answers in both cell orders.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeConfigTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        Safe safe = SafeFixtures.load(name);
+        for (CellOrder order : CellOrder.values()) {
+            Optional<Configuration> found = new Backtracker(false).solve(new SafeConfig(safe, order));
+            SafeFixtures.assertVerified(((SafeConfig) found.orElseThrow()).getSafe(), order + " " + name);
+        }
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(7, 200)) {
+            long expected = new Backtracker(false).countSolutions(new SafeConfig(safe), Long.MAX_VALUE);
+            assertEquals(expected, new Backtracker(false).countSolutions(
+                    new SafeConfig(safe, CellOrder.MOST_CONSTRAINED), Long.MAX_VALUE), "\n" + safe);
+            Optional<Configuration> found = new Backtracker(false).solve(
+                    new SafeConfig(safe, CellOrder.MOST_CONSTRAINED));
+            assertEquals(expected > 0, found.isPresent(), "\n" + safe);
+            found.ifPresent(config -> SafeFixtures.assertVerified(((SafeConfig) config).getSafe(), "\n" + safe));
+        }
+    }
+
+    /**
+     * The given lasers see each other, and most-constrained order never has them as its
+     * current cell, so only the check of the whole safe can catch it.
+     */
+    @Test
+    void conflictingGivenLasers() {
+        Safe safe = new Safe(new char[][]{
+                {Safe.LASER, Safe.EMPTY, Safe.LASER},
+                {Safe.X, Safe.X, Safe.X}});
+        for (CellOrder order : CellOrder.values()) {
+            assertFalse(new Backtracker(false).solve(new SafeConfig(safe, order)).isPresent(), order.toString());
+        }
+    }
+}
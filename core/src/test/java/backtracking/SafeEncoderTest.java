@@ -0,0 +1,54 @@
+package backtracking;
+
+/**
+ * File: SafeEncoderTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.FileNotFoundException;
+import model.Safe;
+import model.SafeFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that the SAT encoding of a safe is satisfiable exactly when the safe
+ * can be solved, and that the decoded board is a solution.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeEncoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4x4safe.txt", "7x7safe.txt", "8x8safe.txt", "10x8safe.txt", "14x14safe.txt"})
+    void projectSafes(String name) throws FileNotFoundException {
+        SafeFixtures.assertVerified(new SafeEncoder(SafeFixtures.load(name)).solve(), "sat " + name);
+    }
+
+    @Test
+    void randomSafes() {
+        for (Safe safe : SafeFixtures.randomSafes(21, 200)) {
+            boolean expected = new Backtracker(false).solve(new SafeConfig(safe)).isPresent();
+            Safe found = new SafeEncoder(safe).solve();
+            assertEquals(expected, found != null, "\n" + safe);
+            if (found != null) {
+                SafeFixtures.assertVerified(found, "\n" + safe);
+            }
+        }
+    }
+
+    /**
+     * The given lasers see each other, so the clauses cannot all hold.
+     */
+    @Test
+    void conflictingGivenLasers() {
+        Safe safe = new Safe(new char[][]{
+                {Safe.LASER, Safe.EMPTY, Safe.LASER},
+                {Safe.X, Safe.X, Safe.X}});
+        assertNull(new SafeEncoder(safe).solve());
+    }
+}
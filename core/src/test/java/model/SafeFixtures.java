@@ -0,0 +1,86 @@
+package model;
+
+/**
+ * File: SafeFixtures.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Safes for the tests: the ones in the tests directory of the project, and
+ * small random ones, which have many solutions or none far more often.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public final class SafeFixtures {
+
+    /** Where the safes of the project are, seen from the module */
+    private static final String TESTS = "../tests/";
+    /** Message of a safe that passes Verify */
+    private static final String VERIFIED = "Safe is fully verified!";
+
+    private SafeFixtures() {
+    }
+
+    /**
+     * @param name - name of a file in the tests directory
+     * @return the safe it holds
+     * @throws FileNotFoundException if there is no such file
+     */
+    public static Safe load(String name) throws FileNotFoundException {
+        return new Safe(TESTS + name);
+    }
+
+    /**
+     * @param random - where the cells come from
+     * @param rows - number of rows
+     * @param columns - number of columns
+     * @param highestPillar - highest number a pillar may have
+     * @return a safe with some X and numbered pillars, the rest empty
+     */
+    public static Safe randomSafe(Random random, int rows, int columns, int highestPillar) {
+        char[][] grid = new char[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                double cell = random.nextDouble();
+                if (cell < 0.15) {
+                    grid[i][j] = Safe.X;
+                } else if (cell < 0.3) {
+                    grid[i][j] = (char) (Safe.ZERO + random.nextInt(highestPillar + 1));
+                } else {
+                    grid[i][j] = Safe.EMPTY;
+                }
+            }
+        }
+        return new Safe(grid);
+    }
+
+    /**
+     * @param seed - seed of the random safes, so a failure can be repeated
+     * @param count - number of safes
+     * @return safes of 4 to 6 rows and columns, with pillars up to 2
+     */
+    public static List<Safe> randomSafes(long seed, int count) {
+        Random random = new Random(seed);
+        List<Safe> safes = new ArrayList<Safe>(count);
+        for (int k = 0; k < count; k++) {
+            safes.add(randomSafe(random, 4 + random.nextInt(3), 4 + random.nextInt(3), 2));
+        }
+        return safes;
+    }
+
+    /**
+     * @param solution - a board an engine returned
+     * @param engine - the engine and the safe, for the failure message
+     */
+    public static void assertVerified(Safe solution, String engine) {
+        solution.Verify();
+        assertEquals(VERIFIED, solution.getMessage(), engine + "\nreturned\n" + solution);
+    }
+}
@@ -0,0 +1,143 @@
+package model;
+
+/**
+ * File: SafeViolationsTest.java
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the index of violations Safe keeps as lasers are added and removed
+ * against a scan of the whole board after every step.
+ *
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class SafeViolationsTest {
+
+    /** Number of random safes */
+    private static final int SAFES = 100;
+    /** Lasers added or removed on every safe */
+    private static final int STEPS = 60;
+
+    @Test
+    void indexMatchesRescan() {
+        Random random = new Random(7);
+        for (int k = 0; k < SAFES; k++) {
+            Safe safe = SafeFixtures.randomSafe(random, 3 + random.nextInt(6), 3 + random.nextInt(6), 3);
+            for (int step = 0; step < STEPS; step++) {
+                int row = random.nextInt(safe.getNumberOfRows());
+                int column = random.nextInt(safe.getNumberOfColumns());
+                if (safe.getGrid()[row][column] == Safe.LASER) {
+                    safe.Remove(row, column);
+                } else {
+                    safe.Add(row, column);
+                }
+                List<String> expected = rescan(safe);
+                assertEquals(expected, violationsOf(safe), "\n" + safe);
+                assertEquals(expected.size(), safe.getNumberOfViolations(), "\n" + safe);
+                assertEquals(expected, violationsOf(new Safe(safe)), "copy of\n" + safe);
+            }
+        }
+    }
+
+    /**
+     * Finds the violations by looking at every cell and following the rays of every
+     * laser, without the counters of the safe.
+     * @param safe - the safe
+     * @return the violations in row-major order, as Violation.toString shows them
+     */
+    private static List<String> rescan(Safe safe) {
+        char[][] grid = safe.getGrid();
+        int rows = safe.getNumberOfRows();
+        int columns = safe.getNumberOfColumns();
+        boolean[][] lit = new boolean[rows][columns];
+        boolean[][] conflict = new boolean[rows][columns];
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (grid[i][j] != Safe.LASER) {
+                    continue;
+                }
+                for (int[] direction : directions) {
+                    int r = i + direction[0];
+                    int c = j + direction[1];
+                    while (r >= 0 && c >= 0 && r < rows && c < columns && !Safe.isPillar(grid[r][c])) {
+                        lit[r][c] = true;
+                        if (grid[r][c] == Safe.LASER) {
+                            conflict[i][j] = true;
+                        }
+                        r += direction[0];
+                        c += direction[1];
+                    }
+                }
+            }
+        }
+        List<String> result = new ArrayList<String>();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                char cell = grid[i][j];
+                Violation.Kind kind = null;
+                if (cell == Safe.LASER) {
+                    if (conflict[i][j]) {
+                        kind = Violation.Kind.LASER_CONFLICT;
+                    }
+                } else if (Safe.isPillar(cell)) {
+                    if (cell != Safe.X && lasersAround(grid, i, j) != cell - Safe.ZERO) {
+                        kind = Violation.Kind.PILLAR_COUNT;
+                    }
+                } else {
+                    // a beam must be lit and an empty cell must not be
+                    assertEquals(lit[i][j], cell == Safe.LASER_BEAM, "cell (" + i + ", " + j + ")\n" + safe);
+                    if (!lit[i][j]) {
+                        kind = Violation.Kind.UNCOVERED_CELL;
+                    }
+                }
+                if (kind != null) {
+                    result.add(new Violation(i, j, kind).toString());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param safe - the safe
+     * @return the violations Safe lists, as Violation.toString shows them
+     */
+    private static List<String> violationsOf(Safe safe) {
+        List<String> result = new ArrayList<String>();
+        for (Violation violation : safe.getViolations()) {
+            result.add(violation.toString());
+        }
+        return result;
+    }
+
+    /**
+     * @param grid - cells of the safe
+     * @param row - row of a pillar
+     * @param column - column of the pillar
+     * @return number of lasers next to it
+     */
+    private static int lasersAround(char[][] grid, int row, int column) {
+        int lasers = 0;
+        if (row > 0 && grid[row - 1][column] == Safe.LASER) {
+            lasers++;
+        }
+        if (row < grid.length - 1 && grid[row + 1][column] == Safe.LASER) {
+            lasers++;
+        }
+        if (column > 0 && grid[row][column - 1] == Safe.LASER) {
+            lasers++;
+        }
+        if (column < grid[row].length - 1 && grid[row][column + 1] == Safe.LASER) {
+            lasers++;
+        }
+        return lasers;
+    }
+}
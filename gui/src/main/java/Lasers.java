@@ -71,7 +71,7 @@ public class Lasers {
                     // create the "view" first
                     LasersPTUI ptui = new LasersPTUI(safeFile);
                     // now create the "controller"
-                    ControllerPTUI ctrlr = new ControllerPTUI(ptui.getModel());
+                    ControllerPTUI ctrlr = new ControllerPTUI(ptui);
                     // now pass control to the run method of the controller
                     ctrlr.run(inputFile);
                     break;
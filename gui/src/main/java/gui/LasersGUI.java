@@ -5,6 +5,7 @@ package gui;
  */
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
@@ -117,10 +118,11 @@ public class LasersGUI extends Application implements Observer {
         check.setOnAction(event -> model.Verify());
         Button hint = new Button();
         setImageOfButton(hint, "resources/Hint.png");
-        hint.setOnAction(event -> model.placeOneRightLaser());
+        // hints and solutions are searched in the background, the model changes on this thread
+        hint.setOnAction(event -> model.placeOneRightLaserAsync(Platform::runLater));
         Button solve = new Button();
         setImageOfButton(solve, "resources/Solve.png");
-        solve.setOnAction(event -> model.changeGridToDisplaySolution());
+        solve.setOnAction(event -> model.changeGridToDisplaySolutionAsync(Platform::runLater));
         Button restart = new Button();
         setImageOfButton(restart, "resources/Restart.png");
         restart.setOnAction(event -> model.reset());
@@ -174,6 +176,10 @@ public class LasersGUI extends Application implements Observer {
     @Override
     public void update(Observable o, Object arg) {
         this.valueDisplay.setText(model.getMessage());
+        if (arg instanceof SolveProgress) {
+            // only the message changes while the model is solving
+            return;
+        }
         if (!model.getSafeIsChanged()) {
             updateGrid();
         } else {
@@ -22,6 +22,8 @@ public class ControllerPTUI  {
 
     /** The UI's connection to the model */
     private LasersModel model;
+    /** The view that draws the board, or null to print the model */
+    private LasersPTUI view;
 
     /**
      * Construct the PTUI.  Create the model and initialize the view.
@@ -31,12 +33,22 @@ public class ControllerPTUI  {
         this.model = model;
     }
 
+    /**
+     * Construct the PTUI for a view, which then draws the board for the
+     * display command as well.
+     * @param view The view, holding the laser model
+     */
+    public ControllerPTUI(LasersPTUI view) {
+        this.model = view.getModel();
+        this.view = view;
+    }
+
     /**
      * Run the main loop.  This is the entry point for the controller
      * @param inputFile The name of the input command file, if specified
      */
     public void run(String inputFile) {
-        System.out.println(model.toString());
+        display();
         if (inputFile != null) {
             try {
                 Scanner in = new Scanner(new File(inputFile));
@@ -84,7 +96,7 @@ public class ControllerPTUI  {
                 model.Add(Integer.parseInt(command[1]), Integer.parseInt(command[2]));
             }
         } else if (firstCharacter.equals("d") || command[0].equals("display")) {
-            System.out.println(model);
+            display();
         } else if (firstCharacter.equals("h") || command[0].equals("help")) {
             System.out.println("a|add r c: Add laser to (r,c)\n" +
                     "d|display: Display safe\n" +
@@ -105,4 +117,15 @@ public class ControllerPTUI  {
             System.out.println("Unrecognized command: " + command[0]);
         }
     }
+
+    /**
+     * Shows the whole board.
+     */
+    private void display() {
+        if (view != null) {
+            view.display();
+        } else {
+            System.out.println(model);
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package ptui;
+
+/**
+ * File: LasersPTUI.java
+ */
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Observable;
+import java.util.Observer;
+import model.LasersModel;
+import model.SafeRenderer;
+import model.SolveProgress;
+
+/**
+ * This class represents the view portion of the plain text UI.  It
+ * is initialized first, followed by the controller (ControllerPTUI).
+ * You should create the model here, and then implement the update method.
+ *
+ * The board is drawn by a SafeRenderer. Run with -Dlasers.ansi=true on an
+ * ANSI terminal, the board stays at the top of the screen and only the cells
+ * that changed are redrawn after every command, with the message under it.
+ *
+ * @author Sean Strout @ RIT CS
+ * @author Ayana Adylova, axa2111@rit.edu
+ * @author Jonathan So, jds7523@rit.edu
+ */
+public class LasersPTUI implements Observer {
+
+    /** System property that turns on drawing only the cells that changed */
+    public static final String ANSI_PROPERTY = "lasers.ansi";
+
+    /** The UI's connection to the model */
+    private LasersModel model;
+    /** Draws the board, keeping its buffer and what the terminal shows between updates */
+    private final SafeRenderer renderer = new SafeRenderer();
+    /** True if only the cells that changed are redrawn */
+    private final boolean ansi = Boolean.getBoolean(ANSI_PROPERTY);
+    /** Where the board is drawn */
+    private final PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out));
+
+    /**
+     * Construct the PTUI.  Create the model and initialize the view.
+     * @param filename the safe file name
+     * @throws FileNotFoundException
+     */
+    public LasersPTUI(String filename) throws FileNotFoundException {
+        this.model = new LasersModel(filename);
+        this.model.addObserver(this);
+    }
+
+    /**
+     * @return lasers model
+     */
+    public LasersModel getModel() { return this.model; }
+
+    /**
+     * Draws the whole board, e.g. for the display command.
+     */
+    public void display() {
+        renderer.reset();
+        draw(null);
+    }
+
+    @Override
+    public void update(Observable o, Object arg) {
+        if (arg instanceof SolveProgress) {
+            return;
+        }
+        draw(model.getMessage());
+    }
+
+    /**
+     * Draws the board with a message: above it as a line of its own, or
+     * under it when only the changes are drawn.
+     * @param message the message, or null for none
+     */
+    private void draw(String message) {
+        try {
+            if (ansi) {
+                renderer.renderChanges(model.getSafe(), out);
+                if (message != null) {
+                    out.println(message);
+                }
+            } else {
+                if (message != null) {
+                    out.println(message);
+                }
+                renderer.render(model.getSafe(), out);
+                out.println();
+            }
+        } catch (IOException e) {
+            // a PrintWriter keeps its errors to itself, so this does not happen
+            throw new UncheckedIOException(e);
+        }
+        out.flush();
+    }
+}